@@ -0,0 +1,151 @@
+package com.seibel.cpss.benchmark;
+
+import com.seibel.cpss.loader.CsvCursor;
+import com.seibel.cpss.loader.CsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a synthetic food catalog (the 10-food-*.csv layout) with the previous
+ * line-based parser, with {@link CsvParser#parse} (cursor, materialized maps) and
+ * with a streaming {@link CsvCursor} loop that reads columns by index.
+ * The fork runs with a 4 GB heap so the 1M-row maps fit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvParserBenchmark {
+
+    private static final String HEADER =
+            "name,category,subcategory,description,notes,foundation,mixable,crunch,punch,sweet,savory\n";
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            csv.append("Food ").append(i).append(",Category ").append(i % 20).append(",Sub ").append(i % 7)
+                    .append(",\"Description, with a comma\",Notes for ").append(i)
+                    .append(',').append(random.nextBoolean()).append(',').append(random.nextBoolean())
+                    .append(',').append(random.nextInt(6)).append(',').append(random.nextInt(6))
+                    .append(',').append(random.nextInt(6)).append(',').append(random.nextInt(6))
+                    .append('\n');
+        }
+        content = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> legacyParser() throws IOException {
+        return LegacyCsvParser.parse(content);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> cursorToMaps() throws IOException {
+        return CsvParser.parse("synthetic", new ByteArrayInputStream(content));
+    }
+
+    @Benchmark
+    public long cursorStreaming(Blackhole blackhole) throws IOException {
+        long count = 0;
+        try (CsvCursor cursor = CsvCursor.open(new ByteArrayInputStream(content))) {
+            int name = cursor.column("name");
+            int crunch = cursor.column("crunch");
+            while (cursor.next()) {
+                blackhole.consume(cursor.get(name));
+                blackhole.consume(cursor.get(crunch));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The line-based parser that CsvParser used before it moved to commons-csv,
+     * kept here as the baseline.
+     */
+    static final class LegacyCsvParser {
+
+        static List<Map<String, String>> parse(byte[] content) throws IOException {
+            List<Map<String, String>> records = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+                String headerLine = reader.readLine();
+                if (headerLine == null) {
+                    return records;
+                }
+                String[] headers = parseLine(headerLine);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    String[] values = parseLine(line);
+                    if (values.length != headers.length) {
+                        continue;
+                    }
+                    Map<String, String> record = new HashMap<>();
+                    for (int i = 0; i < headers.length; i++) {
+                        record.put(headers[i], values[i]);
+                    }
+                    records.add(record);
+                }
+            }
+            return records;
+        }
+
+        private static String[] parseLine(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder currentValue = new StringBuilder();
+            boolean inQuotes = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        currentValue.append('"');
+                        i++;
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                } else if (c == ',' && !inQuotes) {
+                    values.add(currentValue.toString().trim());
+                    currentValue = new StringBuilder();
+                } else {
+                    currentValue.append(c);
+                }
+            }
+            values.add(currentValue.toString().trim());
+            return values.toArray(new String[0]);
+        }
+    }
+}
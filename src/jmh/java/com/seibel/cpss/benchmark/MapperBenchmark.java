@@ -0,0 +1,94 @@
+package com.seibel.cpss.benchmark;
+
+import com.seibel.cpss.common.domain.Company;
+import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.entity.CompanyDb;
+import com.seibel.cpss.database.db.entity.NutritionDb;
+import com.seibel.cpss.database.db.mapper.CompanyMapper;
+import com.seibel.cpss.database.db.mapper.NutritionMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written mappers with the ModelMapper mapping they replaced.
+ * The ModelMapper instance is shared and warmed, which is the best case for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final NutritionMapper nutritionMapper = new NutritionMapper();
+    private final CompanyMapper companyMapper = new CompanyMapper();
+
+    private NutritionDb nutritionDb;
+    private CompanyDb companyDb;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        nutritionDb = new NutritionDb();
+        nutritionDb.setId(1L);
+        nutritionDb.setExtid(UUID.randomUUID().toString());
+        nutritionDb.setCode("CARROT");
+        nutritionDb.setName("Carrot");
+        nutritionDb.setDescription("Raw carrot");
+        nutritionDb.setCarbohydrate(10);
+        nutritionDb.setFat(0);
+        nutritionDb.setProtein(1);
+        nutritionDb.setSugar(5);
+        nutritionDb.setFiber(3);
+        nutritionDb.setVitaminD(0);
+        nutritionDb.setVitaminE(1);
+        nutritionDb.setCreatedAt(now);
+        nutritionDb.setUpdatedAt(now);
+        nutritionDb.setActive(ActiveEnum.ACTIVE);
+
+        companyDb = new CompanyDb();
+        companyDb.setId(1L);
+        companyDb.setExtid(UUID.randomUUID().toString());
+        companyDb.setCode("ACME");
+        companyDb.setName("Acme");
+        companyDb.setDescription("Acme Corporation");
+        companyDb.setCreatedAt(now);
+        companyDb.setUpdatedAt(now);
+        companyDb.setActive(ActiveEnum.ACTIVE);
+
+        // Build the type maps up front so the first measured call is not a cold lookup
+        modelMapper.map(nutritionDb, Nutrition.class);
+        modelMapper.map(companyDb, Company.class);
+    }
+
+    @Benchmark
+    public Nutrition nutritionModelMapper() {
+        return modelMapper.map(nutritionDb, Nutrition.class);
+    }
+
+    @Benchmark
+    public Nutrition nutritionHandWritten() {
+        return nutritionMapper.toModel(nutritionDb);
+    }
+
+    @Benchmark
+    public Company companyModelMapper() {
+        return modelMapper.map(companyDb, Company.class);
+    }
+
+    @Benchmark
+    public Company companyHandWritten() {
+        return companyMapper.toModel(companyDb);
+    }
+}
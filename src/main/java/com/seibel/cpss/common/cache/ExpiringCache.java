@@ -0,0 +1,167 @@
+package com.seibel.cpss.common.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small size-bounded LRU cache with a per-entry time-to-live, used for the
+ * read-mostly food and nutrition catalog and for verified tokens and token versions.
+ * <p>
+ * Loaders run outside the lock. A value loaded while {@link #invalidateAll()} ran
+ * concurrently (or {@link #invalidate(Object)}) is returned to its caller but not stored, so a write can never be
+ * shadowed by a read that started before it.
+ */
+public class ExpiringCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long generation;
+
+    public ExpiringCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, System::nanoTime);
+    }
+
+    ExpiringCache(String name, int maxSize, Duration ttl, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache maxSize must be positive: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the key, loading it on a miss.
+     * Null results from the loader are returned but not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        V value = loader.apply(key);
+        if (value != null) {
+            store(key, value, loadGeneration);
+        }
+        return value;
+    }
+
+    /**
+     * Returns all cached values for the keys and loads the remaining keys with a
+     * single call to the bulk loader. Keys the loader does not return are absent
+     * from the result.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> bulkLoader) {
+        Map<K, V> result = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        long loadGeneration;
+
+        synchronized (this) {
+            for (K key : keys) {
+                if (result.containsKey(key)) {
+                    continue;
+                }
+                V cached = lookup(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                } else if (!missing.contains(key)) {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.addAndGet(result.size());
+
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            Map<K, V> loaded = bulkLoader.apply(missing);
+            loaded.forEach((key, value) -> {
+                if (value != null) {
+                    result.put(key, value);
+                    store(key, value, loadGeneration);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Drops one entry. Loads already in flight for any key are not stored, as
+     * with {@link #invalidateAll()}.
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized CacheStats stats() {
+        return CacheStats.builder()
+                .name(name)
+                .size(entries.size())
+                .maxSize(maxSize)
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .build();
+    }
+
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.loadedAt >= ttlNanos) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            return null;
+        }
+        return entry.value;
+    }
+
+    private synchronized void store(K key, V value, long loadGeneration) {
+        if (loadGeneration == generation) {
+            entries.put(key, new Entry<>(value, clock.getAsLong()));
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
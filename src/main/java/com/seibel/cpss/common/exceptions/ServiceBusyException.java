@@ -0,0 +1,16 @@
+package com.seibel.cpss.common.exceptions;
+
+/**
+ * Thrown when a bounded worker pool is saturated and the request should be
+ * retried later rather than queued.
+ */
+public class ServiceBusyException extends BaseServiceException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,8 @@
 package com.seibel.cpss.common.util;
 
+import java.util.Locale;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * Utility class for auto-generating unique codes.
@@ -13,6 +15,9 @@ public class CodeGenerator {
     private static final int NAME_LENGTH = 6;
     private static final int CATEGORY_LENGTH = 4;
     private static final int SUBCATEGORY_LENGTH = 4;
+    private static final int MAX_COLLISIONS = 99;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-zA-Z0-9]");
 
     /**
      * Generates a unique code from name, category, and subcategory.
@@ -26,6 +31,25 @@ public class CodeGenerator {
      */
     public static String generateCode(String name, String category, String subcategory,
                                      Predicate<String> codeExistsPredicate) {
+        return family(name, category, subcategory).firstFree(codeExistsPredicate);
+    }
+
+    /**
+     * Generates a unique code from name only (for entities without category/subcategory).
+     * Uses up to 16 characters from the name.
+     *
+     * @param name The name to generate code from
+     * @param codeExistsPredicate Function to check if a code already exists
+     * @return A unique code up to 16 characters
+     */
+    public static String generateCode(String name, Predicate<String> codeExistsPredicate) {
+        return family(name).firstFree(codeExistsPredicate);
+    }
+
+    /**
+     * Returns the candidate codes for a name, category and subcategory in NAME-CAT-SUB format.
+     */
+    public static CodeFamily family(String name, String category, String subcategory) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
@@ -41,62 +65,74 @@ public class CodeGenerator {
         String catPart = cleanAndTruncate(category, CATEGORY_LENGTH);
         String subPart = cleanAndTruncate(subcategory, SUBCATEGORY_LENGTH);
 
-        // Build base code: NAME-CAT-SUB
-        String baseCode = namePart + "-" + catPart + "-" + subPart;
-
-        // Check if code exists, if not return it
-        if (!codeExistsPredicate.test(baseCode)) {
-            return baseCode;
-        }
-
-        // Handle collision by appending numbers (replaces last chars of name)
-        for (int i = 1; i <= 99; i++) {
-            String suffix = String.valueOf(i);
-            int adjustedNameLength = NAME_LENGTH - suffix.length();
-            String adjustedName = namePart.substring(0, Math.min(namePart.length(), adjustedNameLength)) + suffix;
-            String candidateCode = adjustedName + "-" + catPart + "-" + subPart;
-
-            if (!codeExistsPredicate.test(candidateCode)) {
-                return candidateCode;
-            }
-        }
-
-        throw new IllegalStateException("Unable to generate unique code for: " + name);
+        // Collisions replace the last chars of the name part, so the category and subcategory stay fixed
+        return new CodeFamily(name, namePart, NAME_LENGTH, "-" + catPart + "-" + subPart);
     }
 
     /**
-     * Generates a unique code from name only (for entities without category/subcategory).
-     * Uses up to 16 characters from the name.
-     *
-     * @param name The name to generate code from
-     * @param codeExistsPredicate Function to check if a code already exists
-     * @return A unique code up to 16 characters
+     * Returns the candidate codes for a name only (up to 16 characters).
      */
-    public static String generateCode(String name, Predicate<String> codeExistsPredicate) {
+    public static CodeFamily family(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
 
         // Extract first word and clean it
-        String baseCode = cleanAndTruncate(extractFirstWord(name), MAX_CODE_LENGTH);
+        return new CodeFamily(name, cleanAndTruncate(extractFirstWord(name), MAX_CODE_LENGTH), MAX_CODE_LENGTH, "");
+    }
+
+    /**
+     * The ordered candidate codes for one input: the base code, then the base
+     * code with its stem shortened to make room for a numeric suffix 1..99.
+     * Every candidate starts with {@link #prefix()} and ends with {@link #suffix()},
+     * so all codes that could collide can be fetched with one LIKE query.
+     *
+     * @param source the name the codes are generated from, for error messages
+     * @param stem the cleaned name part that the suffix number replaces the end of
+     * @param stemLength the maximum stem length including the number
+     * @param suffix the fixed part after the stem (empty for name-only codes)
+     */
+    public record CodeFamily(String source, String stem, int stemLength, String suffix) {
 
-        // Check if code exists, if not return it
-        if (!codeExistsPredicate.test(baseCode)) {
-            return baseCode;
+        public String baseCode() {
+            return stem + suffix;
         }
 
-        // Handle collision by appending numbers
-        for (int i = 1; i <= 99; i++) {
-            String suffix = String.valueOf(i);
-            int baseLength = MAX_CODE_LENGTH - suffix.length();
-            String candidateCode = baseCode.substring(0, Math.min(baseCode.length(), baseLength)) + suffix;
+        /**
+         * The part of the stem no suffix number can overwrite.
+         */
+        public String prefix() {
+            return stem.substring(0, Math.min(stem.length(), stemLength - String.valueOf(MAX_COLLISIONS).length()));
+        }
+
+        /**
+         * SQL LIKE pattern matching every candidate (codes never contain % or _).
+         */
+        public String likePattern() {
+            return prefix() + "%" + suffix;
+        }
 
-            if (!codeExistsPredicate.test(candidateCode)) {
-                return candidateCode;
+        public String candidate(int attempt) {
+            if (attempt == 0) {
+                return baseCode();
             }
+            String number = String.valueOf(attempt);
+            return stem.substring(0, Math.min(stem.length(), stemLength - number.length())) + number + suffix;
         }
 
-        throw new IllegalStateException("Unable to generate unique code for name: " + name);
+        /**
+         * @return the first candidate the predicate does not report as taken
+         * @throws IllegalStateException when all 100 candidates are taken
+         */
+        public String firstFree(Predicate<String> taken) {
+            for (int attempt = 0; attempt <= MAX_COLLISIONS; attempt++) {
+                String candidate = candidate(attempt);
+                if (!taken.test(candidate)) {
+                    return candidate;
+                }
+            }
+            throw new IllegalStateException("Unable to generate unique code for: " + source);
+        }
     }
 
     /**
@@ -113,7 +149,7 @@ public class CodeGenerator {
      * Cleans text (removes non-alphanumeric, converts to uppercase) and truncates to max length.
      */
     private static String cleanAndTruncate(String text, int maxLength) {
-        String cleaned = text.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        String cleaned = NON_ALPHANUMERIC.matcher(text).replaceAll("").toUpperCase(Locale.ROOT);
 
         if (cleaned.isEmpty()) {
             throw new IllegalArgumentException("Text must contain alphanumeric characters: " + text);
@@ -0,0 +1,75 @@
+package com.seibel.cpss.common.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates extids as time-ordered UUIDs (version 7, RFC 9562).
+ * The first 48 bits are the Unix time in milliseconds, so new rows land at the
+ * right-hand end of the extid index instead of at random positions. Within one
+ * millisecond the 12-bit rand_a field is used as a counter, keeping extids
+ * generated by this process strictly increasing.
+ */
+public class ExtidGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private static long lastMillis = -1;
+    private static int sequence;
+
+    private ExtidGenerator() {
+    }
+
+    /**
+     * Returns a new extid in canonical 36-character form.
+     */
+    public static String newExtid() {
+        return newUuid().toString();
+    }
+
+    /**
+     * Returns true if the value is a UUID in canonical 36-character form, the
+     * only form extids are stored in. Anything else cannot match a stored row.
+     */
+    public static boolean isExtid(String value) {
+        if (value == null || value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static UUID newUuid() {
+        long millis;
+        int seq;
+        synchronized (ExtidGenerator.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                if (sequence == MAX_SEQUENCE) {
+                    // Counter exhausted: borrow the next millisecond
+                    millis++;
+                    sequence = 0;
+                } else {
+                    sequence++;
+                }
+            } else {
+                sequence = RANDOM.nextInt(MAX_SEQUENCE / 2);
+            }
+            lastMillis = millis;
+            seq = sequence;
+        }
+
+        long msb = (millis << 16) | 0x7000L | seq;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -2,9 +2,11 @@ package com.seibel.cpss.config;
 
 import com.seibel.cpss.security.CustomUserDetailsService;
 import com.seibel.cpss.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -50,14 +52,28 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configure(http)) // Enable CORS
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses complete on an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Allow React SPA and static resources (no backend auth)
                         .requestMatchers("/", "/index.html", "/favicon.ico", "/vite.svg").permitAll()
                         .requestMatchers("/assets/**", "/*.js", "/*.css").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
 
+                        // Password hashing pool metrics are for administrators only
+                        .requestMatchers(HttpMethod.GET, "/api/auth/password-hash/stats").hasRole("ADMIN")
+
                         // Allow auth endpoints (login/register)
                         .requestMatchers("/api/auth/**").permitAll()
 
+                        // Catalog bulk import, export and cache metrics are for administrators only
+                        .requestMatchers(HttpMethod.POST, "/api/catalog/import").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/catalog/export/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/catalog/cache").hasRole("ADMIN")
+
+                        // Archiver stats and manual runs are for administrators only
+                        .requestMatchers("/api/archive/**").hasRole("ADMIN")
+
                         // Protect all other API endpoints (require JWT)
                         .requestMatchers("/api/**").authenticated()
 
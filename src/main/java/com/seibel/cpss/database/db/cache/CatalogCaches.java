@@ -0,0 +1,88 @@
+package com.seibel.cpss.database.db.cache;
+
+import com.seibel.cpss.common.cache.CacheStats;
+import com.seibel.cpss.common.cache.ExpiringCache;
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Nutrition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Catalog caches used by FoodDbService and NutritionDbService, plus the food
+ * snapshots shared by salad and mixture ingredients and the key-to-id indexes
+ * used to attach references on writes. Every catalog write goes
+ * through one of the invalidate methods, which also starts a new snapshot version
+ * and drops the id indexes.
+ * Cached domain objects are shared between callers and must not be mutated.
+ * <p>
+ * Foods and nutrition are only cached by extid. Nothing reads them by name or
+ * code at request time: the loader matches names against its own per-run
+ * indexes, references by code go through {@link #nutritionIdsByCode()}, and
+ * generated codes are allocated from one prefix query. The repositories'
+ * findByName and findByCode are left uncached for that reason.
+ */
+@Slf4j
+@Component
+public class CatalogCaches {
+
+    private final ExpiringCache<String, Food> foodsByExtid;
+    private final ExpiringCache<String, Nutrition> nutritionByExtid;
+    private final CatalogSnapshots snapshots;
+    private final IdIndex foodIdsByExtid = new IdIndex();
+    private final IdIndex nutritionIdsByCode = new IdIndex();
+
+    public CatalogCaches(@Value("${app.cache.catalog.max-size:2000}") int maxSize,
+                         @Value("${app.cache.catalog.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.foodsByExtid = new ExpiringCache<>("foodsByExtid", maxSize, ttl);
+        this.nutritionByExtid = new ExpiringCache<>("nutritionByExtid", maxSize, ttl);
+        this.snapshots = new CatalogSnapshots(maxSize);
+    }
+
+    public ExpiringCache<String, Food> foodsByExtid() {
+        return foodsByExtid;
+    }
+
+    public ExpiringCache<String, Nutrition> nutritionByExtid() {
+        return nutritionByExtid;
+    }
+
+    public CatalogSnapshots snapshots() {
+        return snapshots;
+    }
+
+    public IdIndex foodIdsByExtid() {
+        return foodIdsByExtid;
+    }
+
+    public IdIndex nutritionIdsByCode() {
+        return nutritionIdsByCode;
+    }
+
+    public void invalidateFoods() {
+        foodsByExtid.invalidateAll();
+        snapshots.invalidate();
+        foodIdsByExtid.clear();
+        log.debug("Food catalog cache invalidated");
+    }
+
+    /**
+     * Nutrition is embedded in cached foods, so nutrition writes clear both caches.
+     */
+    public void invalidateAll() {
+        foodsByExtid.invalidateAll();
+        nutritionByExtid.invalidateAll();
+        snapshots.invalidate();
+        foodIdsByExtid.clear();
+        nutritionIdsByCode.clear();
+        log.debug("Food and nutrition catalog caches invalidated");
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(foodsByExtid.stats(), nutritionByExtid.stats(), snapshots.stats());
+    }
+}
@@ -0,0 +1,92 @@
+package com.seibel.cpss.database.db.cache;
+
+import com.seibel.cpss.common.cache.CacheStats;
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.database.db.entity.FoodDb;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Interns catalog {@link Food} models (with their embedded nutrition) so that
+ * every salad and mixture ingredient that points at the same food shares one
+ * instance instead of each mapping its own copy.
+ * <p>
+ * A snapshot belongs to one catalog version. {@link #invalidate()} starts a new
+ * version, and a snapshot is also rebuilt when the entity's {@code updatedAt}
+ * no longer matches, so rows changed outside this process are not served stale
+ * forever. Snapshots are shared and must not be mutated.
+ */
+public class CatalogSnapshots {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Snapshot> foodsByExtid = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CatalogSnapshots(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Snapshot maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the shared snapshot of the food, building it with the mapper when
+     * there is none for the current catalog version.
+     */
+    public Food food(FoodDb item, Function<FoodDb, Food> mapper) {
+        if (item == null) {
+            return null;
+        }
+        if (item.getExtid() == null) {
+            return mapper.apply(item);
+        }
+
+        long current = version.get();
+        Snapshot snapshot = foodsByExtid.get(item.getExtid());
+        if (snapshot != null && snapshot.version == current
+                && Objects.equals(snapshot.food.getUpdatedAt(), item.getUpdatedAt())) {
+            hits.incrementAndGet();
+            return snapshot.food;
+        }
+
+        misses.incrementAndGet();
+        Food food = mapper.apply(item);
+        // Stored under the version read before mapping: if invalidate() ran meanwhile, the
+        // entry is already outdated and the next lookup replaces it
+        if (snapshot != null || foodsByExtid.size() < maxSize) {
+            foodsByExtid.put(item.getExtid(), new Snapshot(current, food));
+        }
+        return food;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        evictions.addAndGet(foodsByExtid.size());
+        foodsByExtid.clear();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public CacheStats stats() {
+        return CacheStats.builder()
+                .name("foodSnapshots")
+                .size(foodsByExtid.size())
+                .maxSize(maxSize)
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .build();
+    }
+
+    private record Snapshot(long version, Food food) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.seibel.cpss.database.db.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map from a natural key (extid or code) to a primary key. Entries are filled
+ * as keys are resolved and dropped together by {@link #clear()}. The reverse
+ * map only serves {@link #put}, which drops an id's previous key when it changes.
+ */
+public class IdIndex {
+
+    private final Map<String, Long> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    public Long idOf(String key) {
+        return key == null ? null : idsByKey.get(key);
+    }
+
+    public void put(String key, Long id) {
+        String previousKey = keysById.put(id, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            idsByKey.remove(previousKey, id);
+        }
+        idsByKey.put(key, id);
+    }
+
+    public int size() {
+        return idsByKey.size();
+    }
+
+    public void clear() {
+        idsByKey.clear();
+        keysById.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.seibel.cpss.database.db.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Stores a canonical UUID string as BINARY(16), in the same byte order as
+ * MySQL's UUID_TO_BIN(uuid) without the swap flag. The entity and API keep
+ * the string form.
+ */
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) return null;
+        UUID uuid = UUID.fromString(attribute);
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) return null;
+        if (dbData.length != 16) {
+            throw new IllegalArgumentException("Binary UUID must be 16 bytes: " + dbData.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(dbData);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
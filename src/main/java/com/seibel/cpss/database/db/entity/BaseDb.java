@@ -2,14 +2,20 @@ package com.seibel.cpss.database.db.entity;
 
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.converter.ActiveEnumConverter;
+import com.seibel.cpss.database.db.filter.ActiveRowFilter;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Data
 @MappedSuperclass
+// Off by default; enabled per query through ActiveRowFilter
+@FilterDef(name = ActiveRowFilter.NAME, defaultCondition = "active = 1")
+@Filter(name = ActiveRowFilter.NAME)
 public abstract class BaseDb implements Serializable {
 
     private static final long serialVersionUID = 1L;
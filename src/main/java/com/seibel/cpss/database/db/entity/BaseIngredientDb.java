@@ -0,0 +1,28 @@
+package com.seibel.cpss.database.db.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Base JPA entity for ingredient rows: an amount of one food within a salad or mixture.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@MappedSuperclass
+public abstract class BaseIngredientDb extends BaseDb {
+
+    private static final long serialVersionUID = 1L;
+
+    @ManyToOne
+    @JoinColumn(name = "food_id", referencedColumnName = "id", nullable = false)
+    private FoodDb food;
+
+    @Column(name = "grams", nullable = false)
+    private Integer grams;
+}
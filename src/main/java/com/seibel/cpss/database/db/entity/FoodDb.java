@@ -5,10 +5,12 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@BatchSize(size = 100)
 @Table(name = "food")
 public class FoodDb extends BaseFoodDb {
 
@@ -1,8 +1,10 @@
 package com.seibel.cpss.database.db.entity;
 
+import com.seibel.cpss.database.db.converter.UuidBinaryConverter;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +13,10 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "mixture")
+// extid is stored as BINARY(16); see UuidBinaryConverter
+@AttributeOverride(name = "extid",
+        column = @Column(name = "extid", columnDefinition = "binary(16)", nullable = false, unique = true))
+@Convert(attributeName = "extid", converter = UuidBinaryConverter.class)
 public class MixtureDb extends BaseDb {
 
     private static final long serialVersionUID = 1L;
@@ -24,6 +30,7 @@ public class MixtureDb extends BaseDb {
     @Column(name = "user_extid", length = 36)
     private String userExtid;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "mixture", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MixtureIngredientDb> ingredients = new ArrayList<>();
 }
@@ -5,10 +5,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@BatchSize(size = 100)
 @Table(name = "nutrition")
 public class NutritionDb extends BaseFoodDb {
 
@@ -1,8 +1,10 @@
 package com.seibel.cpss.database.db.entity;
 
+import com.seibel.cpss.database.db.converter.UuidBinaryConverter;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +13,10 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "salad")
+// extid is stored as BINARY(16); see UuidBinaryConverter
+@AttributeOverride(name = "extid",
+        column = @Column(name = "extid", columnDefinition = "binary(16)", nullable = false, unique = true))
+@Convert(attributeName = "extid", converter = UuidBinaryConverter.class)
 public class SaladDb extends BaseDb {
 
     private static final long serialVersionUID = 1L;
@@ -24,6 +30,7 @@ public class SaladDb extends BaseDb {
     @Column(name = "user_extid", length = 36, nullable = false)
     private String userExtid;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "salad", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SaladFoodIngredientDb> foodIngredients = new ArrayList<>();
 }
@@ -1,5 +1,6 @@
 package com.seibel.cpss.database.db.entity;
 
+import com.seibel.cpss.database.db.converter.UuidBinaryConverter;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -8,18 +9,15 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "salad_food_ingredient")
-public class SaladFoodIngredientDb extends BaseDb {
+// extid is stored as BINARY(16); see UuidBinaryConverter
+@AttributeOverride(name = "extid",
+        column = @Column(name = "extid", columnDefinition = "binary(16)", nullable = false, unique = true))
+@Convert(attributeName = "extid", converter = UuidBinaryConverter.class)
+public class SaladFoodIngredientDb extends BaseIngredientDb {
 
     private static final long serialVersionUID = 1L;
 
     @ManyToOne
     @JoinColumn(name = "salad_id", referencedColumnName = "id", nullable = false)
     private SaladDb salad;
-
-    @ManyToOne
-    @JoinColumn(name = "food_id", referencedColumnName = "id", nullable = false)
-    private FoodDb food;
-
-    @Column(name = "grams", nullable = false)
-    private Integer grams;
 }
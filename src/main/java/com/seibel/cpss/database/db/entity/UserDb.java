@@ -25,4 +25,8 @@ public class UserDb extends BaseDb {
 
     @Column(name = "role", length = 20, nullable = false)
     private String role = "USER";
+
+    // Bumped to revoke every token issued to the user so far
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
 }
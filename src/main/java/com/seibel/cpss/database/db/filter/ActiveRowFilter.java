@@ -0,0 +1,40 @@
+package com.seibel.cpss.database.db.filter;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Switches on the {@value #NAME} Hibernate filter declared on {@code BaseDb}
+ * for the duration of one query, so only rows with {@code active = 1} are
+ * loaded. The filter is off by default; callers opt in per query.
+ * <p>
+ * Filters are bound to the session, so callers must run inside a transaction.
+ * The filter applies to HQL/JPQL and criteria queries (including derived
+ * repository queries), not to lookups by primary key or native SQL.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveRowFilter {
+
+    public static final String NAME = "activeOnly";
+
+    private final EntityManager entityManager;
+
+    public <T> T activeOnly(Supplier<T> query) {
+        Session session = entityManager.unwrap(Session.class);
+        if (session.getEnabledFilter(NAME) != null) {
+            return query.get();
+        }
+
+        session.enableFilter(NAME);
+        try {
+            return query.get();
+        } finally {
+            session.disableFilter(NAME);
+        }
+    }
+}
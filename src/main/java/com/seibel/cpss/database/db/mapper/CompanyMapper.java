@@ -3,23 +3,46 @@ package com.seibel.cpss.database.db.mapper;
 import com.seibel.cpss.common.domain.Company;
 import com.seibel.cpss.database.db.entity.CompanyDb;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+/**
+ * Field-by-field mapper between {@link CompanyDb} and {@link Company}.
+ * Like the ModelMapper version it replaces, a null source is rejected.
+ */
 @Component
 @NoArgsConstructor
 public class CompanyMapper {
 
-    private final ModelMapper modelMapper = new ModelMapper();
-
     public Company toModel(CompanyDb item) {
-        return modelMapper.map(item, Company.class);
+        requireSource(item);
+        Company model = new Company();
+        model.setId(item.getId());
+        model.setExtid(item.getExtid());
+        model.setCreatedAt(item.getCreatedAt());
+        model.setUpdatedAt(item.getUpdatedAt());
+        model.setDeletedAt(item.getDeletedAt());
+        model.setActive(item.getActive());
+        model.setCode(item.getCode());
+        model.setName(item.getName());
+        model.setDescription(item.getDescription());
+        return model;
     }
 
     public CompanyDb toDb(Company item) {
-        return modelMapper.map(item, CompanyDb.class);
+        requireSource(item);
+        CompanyDb db = new CompanyDb();
+        db.setId(item.getId());
+        db.setExtid(item.getExtid());
+        db.setCreatedAt(item.getCreatedAt());
+        db.setUpdatedAt(item.getUpdatedAt());
+        db.setDeletedAt(item.getDeletedAt());
+        db.setActive(item.getActive());
+        db.setCode(item.getCode());
+        db.setName(item.getName());
+        db.setDescription(item.getDescription());
+        return db;
     }
 
     public List<Company> toModelList(List<CompanyDb> items) {
@@ -31,4 +54,10 @@ public class CompanyMapper {
         if (items == null) return List.of();
         return items.stream().map(this::toDb).toList();
     }
+
+    private static void requireSource(Object item) {
+        if (item == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+    }
 }
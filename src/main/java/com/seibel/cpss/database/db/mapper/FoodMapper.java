@@ -2,8 +2,6 @@ package com.seibel.cpss.database.db.mapper;
 
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.database.db.entity.FoodDb;
-import com.seibel.cpss.database.db.entity.NutritionDb;
-import com.seibel.cpss.database.db.repository.NutritionRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -13,12 +11,9 @@ import java.util.stream.Collectors;
 @Component
 public class FoodMapper {
 
-    private final NutritionRepository nutritionRepository;
     private final NutritionMapper nutritionMapper;
 
-    public FoodMapper(NutritionRepository nutritionRepository,
-                      NutritionMapper nutritionMapper) {
-        this.nutritionRepository = nutritionRepository;
+    public FoodMapper(NutritionMapper nutritionMapper) {
         this.nutritionMapper = nutritionMapper;
     }
 
@@ -80,12 +75,6 @@ public class FoodMapper {
         foodDb.setDeletedAt(item.getDeletedAt());
         foodDb.setActive(item.getActive());
 
-        // Convert domain models to entity relationships (lookup by code)
-        if (item.getNutrition() != null) {
-            NutritionDb nutritionDb = nutritionRepository.findByCode(item.getNutrition().getCode()).orElse(null);
-            foodDb.setNutrition(nutritionDb);
-        }
-
         return foodDb;
     }
 
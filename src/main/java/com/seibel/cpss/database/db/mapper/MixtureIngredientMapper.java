@@ -1,15 +1,17 @@
 package com.seibel.cpss.database.db.mapper;
 
 import com.seibel.cpss.common.domain.MixtureIngredient;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
 import com.seibel.cpss.database.db.entity.FoodDb;
 import com.seibel.cpss.database.db.entity.MixtureDb;
 import com.seibel.cpss.database.db.entity.MixtureIngredientDb;
-import com.seibel.cpss.database.db.repository.FoodRepository;
-import com.seibel.cpss.database.db.repository.MixtureRepository;
+import com.seibel.cpss.database.db.service.IdResolutionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -18,8 +20,8 @@ import java.util.stream.Collectors;
 public class MixtureIngredientMapper {
 
     private final FoodMapper foodMapper;
-    private final FoodRepository foodRepository;
-    private final MixtureRepository mixtureRepository;
+    private final CatalogCaches catalogCaches;
+    private final IdResolutionService idResolutionService;
 
     public MixtureIngredient toModel(MixtureIngredientDb item) {
         if (Objects.isNull(item)) {
@@ -31,7 +33,8 @@ public class MixtureIngredientMapper {
         ingredient.setExtid(item.getExtid());
         ingredient.setMixtureId(item.getMixture() != null ? item.getMixture().getId() : null);
         ingredient.setFoodExtid(item.getFood() != null ? item.getFood().getExtid() : null);
-        ingredient.setFood(item.getFood() != null ? foodMapper.toModel(item.getFood()) : null);
+        // Shared catalog snapshot: ingredients of the same food reference one instance
+        ingredient.setFood(catalogCaches.snapshots().food(item.getFood(), foodMapper::toModel));
         ingredient.setGrams(item.getGrams());
         ingredient.setCreatedAt(item.getCreatedAt());
         ingredient.setUpdatedAt(item.getUpdatedAt());
@@ -46,22 +49,43 @@ public class MixtureIngredientMapper {
             return null;
         }
 
-        MixtureIngredientDb ingredientDb = new MixtureIngredientDb();
-        ingredientDb.setId(item.getId());
-        ingredientDb.setExtid(item.getExtid());
+        // Attach mixture and food as references; only their ids are needed for the foreign keys
+        MixtureDb mixture = idResolutionService.reference(MixtureDb.class, item.getMixtureId());
+        FoodDb food = item.getFoodExtid() != null ? idResolutionService.foodReference(item.getFoodExtid()) : null;
+
+        return toDb(item, mixture, food);
+    }
 
-        // Set mixture relationship
-        if (item.getMixtureId() != null) {
-            MixtureDb mixture = mixtureRepository.findById(item.getMixtureId()).orElse(null);
-            ingredientDb.setMixture(mixture);
+    /**
+     * Maps a whole ingredient list for one mixture at once. All foods are resolved
+     * through the id index (one id-only query for any not yet indexed) and
+     * attached as references; the given mixture is attached directly, so no
+     * per-ingredient lookups are issued.
+     */
+    public List<MixtureIngredientDb> toDbList(List<MixtureIngredient> items, MixtureDb mixture) {
+        if (Objects.isNull(items) || items.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Set food relationship using foodExtid
-        if (item.getFoodExtid() != null) {
-            FoodDb food = foodRepository.findByExtid(item.getFoodExtid()).orElse(null);
-            ingredientDb.setFood(food);
+        Map<String, FoodDb> foodsByExtid = idResolutionService.foodReferences(items.stream()
+                .map(MixtureIngredient::getFoodExtid)
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<MixtureIngredientDb> ingredientDbs = new ArrayList<>(items.size());
+        for (MixtureIngredient item : items) {
+            FoodDb food = item.getFoodExtid() != null ? foodsByExtid.get(item.getFoodExtid()) : null;
+            ingredientDbs.add(toDb(item, mixture, food));
         }
+        return ingredientDbs;
+    }
 
+    private MixtureIngredientDb toDb(MixtureIngredient item, MixtureDb mixture, FoodDb food) {
+        MixtureIngredientDb ingredientDb = new MixtureIngredientDb();
+        ingredientDb.setId(item.getId());
+        ingredientDb.setExtid(item.getExtid());
+        ingredientDb.setMixture(mixture);
+        ingredientDb.setFood(food);
         ingredientDb.setGrams(item.getGrams());
         ingredientDb.setCreatedAt(item.getCreatedAt());
         ingredientDb.setUpdatedAt(item.getUpdatedAt());
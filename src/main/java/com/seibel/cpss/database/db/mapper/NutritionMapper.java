@@ -2,23 +2,68 @@ package com.seibel.cpss.database.db.mapper;
 
 import com.seibel.cpss.common.domain.Nutrition;
 import com.seibel.cpss.database.db.entity.NutritionDb;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Field-by-field mapper between {@link NutritionDb} and {@link Nutrition}.
+ * Runs once per ingredient on every salad and mixture read, so it avoids
+ * ModelMapper's reflective type-map lookups; the fields copied are exactly
+ * the ones ModelMapper matched by name.
+ */
 @Component
 public class NutritionMapper {
 
-    private final ModelMapper mapper = new ModelMapper();
-
     public Nutrition toModel(NutritionDb db) {
-        return db == null ? null : mapper.map(db, Nutrition.class);
+        if (db == null) {
+            return null;
+        }
+        Nutrition model = new Nutrition();
+        model.setId(db.getId());
+        model.setExtid(db.getExtid());
+        model.setCreatedAt(db.getCreatedAt());
+        model.setUpdatedAt(db.getUpdatedAt());
+        model.setDeletedAt(db.getDeletedAt());
+        model.setActive(db.getActive());
+        model.setCode(db.getCode());
+        model.setName(db.getName());
+        model.setDescription(db.getDescription());
+        model.setNotes(db.getNotes());
+        model.setCarbohydrate(db.getCarbohydrate());
+        model.setFat(db.getFat());
+        model.setProtein(db.getProtein());
+        model.setSugar(db.getSugar());
+        model.setFiber(db.getFiber());
+        model.setVitaminD(db.getVitaminD());
+        model.setVitaminE(db.getVitaminE());
+        return model;
     }
 
     public NutritionDb toDb(Nutrition model) {
-        return model == null ? null : mapper.map(model, NutritionDb.class);
+        if (model == null) {
+            return null;
+        }
+        NutritionDb db = new NutritionDb();
+        db.setId(model.getId());
+        db.setExtid(model.getExtid());
+        db.setCreatedAt(model.getCreatedAt());
+        db.setUpdatedAt(model.getUpdatedAt());
+        db.setDeletedAt(model.getDeletedAt());
+        db.setActive(model.getActive());
+        db.setCode(model.getCode());
+        db.setName(model.getName());
+        db.setDescription(model.getDescription());
+        db.setNotes(model.getNotes());
+        db.setCarbohydrate(model.getCarbohydrate());
+        db.setFat(model.getFat());
+        db.setProtein(model.getProtein());
+        db.setSugar(model.getSugar());
+        db.setFiber(model.getFiber());
+        db.setVitaminD(model.getVitaminD());
+        db.setVitaminE(model.getVitaminE());
+        return db;
     }
 
     public List<Nutrition> toModelList(List<NutritionDb> list) {
@@ -2,7 +2,6 @@ package com.seibel.cpss.database.db.mapper;
 
 import com.seibel.cpss.common.domain.PasswordResetToken;
 import com.seibel.cpss.database.db.entity.PasswordResetTokenDb;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -10,14 +9,41 @@ import java.util.stream.Collectors;
 
 @Component
 public class PasswordResetTokenMapper {
-    private final ModelMapper mapper = new ModelMapper();
 
     public PasswordResetToken toModel(PasswordResetTokenDb db) {
-        return db == null ? null : mapper.map(db, PasswordResetToken.class);
+        if (db == null) {
+            return null;
+        }
+        PasswordResetToken model = new PasswordResetToken();
+        model.setId(db.getId());
+        model.setExtid(db.getExtid());
+        model.setCreatedAt(db.getCreatedAt());
+        model.setUpdatedAt(db.getUpdatedAt());
+        model.setDeletedAt(db.getDeletedAt());
+        model.setActive(db.getActive());
+        model.setUserExtid(db.getUserExtid());
+        model.setToken(db.getToken());
+        model.setExpiresAt(db.getExpiresAt());
+        model.setUsed(db.isUsed());
+        return model;
     }
 
     public PasswordResetTokenDb toDb(PasswordResetToken model) {
-        return model == null ? null : mapper.map(model, PasswordResetTokenDb.class);
+        if (model == null) {
+            return null;
+        }
+        PasswordResetTokenDb db = new PasswordResetTokenDb();
+        db.setId(model.getId());
+        db.setExtid(model.getExtid());
+        db.setCreatedAt(model.getCreatedAt());
+        db.setUpdatedAt(model.getUpdatedAt());
+        db.setDeletedAt(model.getDeletedAt());
+        db.setActive(model.getActive());
+        db.setUserExtid(model.getUserExtid());
+        db.setToken(model.getToken());
+        db.setExpiresAt(model.getExpiresAt());
+        db.setUsed(model.isUsed());
+        return db;
     }
 
     public List<PasswordResetToken> toModelList(List<PasswordResetTokenDb> list) {
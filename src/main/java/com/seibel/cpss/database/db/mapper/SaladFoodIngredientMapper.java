@@ -1,15 +1,17 @@
 package com.seibel.cpss.database.db.mapper;
 
 import com.seibel.cpss.common.domain.SaladFoodIngredient;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
 import com.seibel.cpss.database.db.entity.FoodDb;
 import com.seibel.cpss.database.db.entity.SaladDb;
 import com.seibel.cpss.database.db.entity.SaladFoodIngredientDb;
-import com.seibel.cpss.database.db.repository.FoodRepository;
-import com.seibel.cpss.database.db.repository.SaladRepository;
+import com.seibel.cpss.database.db.service.IdResolutionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -18,8 +20,8 @@ import java.util.stream.Collectors;
 public class SaladFoodIngredientMapper {
 
     private final FoodMapper foodMapper;
-    private final FoodRepository foodRepository;
-    private final SaladRepository saladRepository;
+    private final CatalogCaches catalogCaches;
+    private final IdResolutionService idResolutionService;
 
     public SaladFoodIngredient toModel(SaladFoodIngredientDb item) {
         if (Objects.isNull(item)) {
@@ -31,7 +33,8 @@ public class SaladFoodIngredientMapper {
         ingredient.setExtid(item.getExtid());
         ingredient.setSaladId(item.getSalad() != null ? item.getSalad().getId() : null);
         ingredient.setFoodExtid(item.getFood() != null ? item.getFood().getExtid() : null);
-        ingredient.setFood(item.getFood() != null ? foodMapper.toModel(item.getFood()) : null);
+        // Shared catalog snapshot: ingredients of the same food reference one instance
+        ingredient.setFood(catalogCaches.snapshots().food(item.getFood(), foodMapper::toModel));
         ingredient.setGrams(item.getGrams());
         ingredient.setCreatedAt(item.getCreatedAt());
         ingredient.setUpdatedAt(item.getUpdatedAt());
@@ -46,22 +49,43 @@ public class SaladFoodIngredientMapper {
             return null;
         }
 
-        SaladFoodIngredientDb ingredientDb = new SaladFoodIngredientDb();
-        ingredientDb.setId(item.getId());
-        ingredientDb.setExtid(item.getExtid());
+        // Attach salad and food as references; only their ids are needed for the foreign keys
+        SaladDb salad = idResolutionService.reference(SaladDb.class, item.getSaladId());
+        FoodDb food = item.getFoodExtid() != null ? idResolutionService.foodReference(item.getFoodExtid()) : null;
+
+        return toDb(item, salad, food);
+    }
 
-        // Set salad relationship
-        if (item.getSaladId() != null) {
-            SaladDb salad = saladRepository.findById(item.getSaladId()).orElse(null);
-            ingredientDb.setSalad(salad);
+    /**
+     * Maps a whole ingredient list for one salad at once. All foods are resolved
+     * through the id index (one id-only query for any not yet indexed) and
+     * attached as references; the given salad is attached directly, so no
+     * per-ingredient lookups are issued.
+     */
+    public List<SaladFoodIngredientDb> toDbList(List<SaladFoodIngredient> items, SaladDb salad) {
+        if (Objects.isNull(items) || items.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Set food relationship using foodExtid
-        if (item.getFoodExtid() != null) {
-            FoodDb food = foodRepository.findByExtid(item.getFoodExtid()).orElse(null);
-            ingredientDb.setFood(food);
+        Map<String, FoodDb> foodsByExtid = idResolutionService.foodReferences(items.stream()
+                .map(SaladFoodIngredient::getFoodExtid)
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<SaladFoodIngredientDb> ingredientDbs = new ArrayList<>(items.size());
+        for (SaladFoodIngredient item : items) {
+            FoodDb food = item.getFoodExtid() != null ? foodsByExtid.get(item.getFoodExtid()) : null;
+            ingredientDbs.add(toDb(item, salad, food));
         }
+        return ingredientDbs;
+    }
 
+    private SaladFoodIngredientDb toDb(SaladFoodIngredient item, SaladDb salad, FoodDb food) {
+        SaladFoodIngredientDb ingredientDb = new SaladFoodIngredientDb();
+        ingredientDb.setId(item.getId());
+        ingredientDb.setExtid(item.getExtid());
+        ingredientDb.setSalad(salad);
+        ingredientDb.setFood(food);
         ingredientDb.setGrams(item.getGrams());
         ingredientDb.setCreatedAt(item.getCreatedAt());
         ingredientDb.setUpdatedAt(item.getUpdatedAt());
@@ -5,8 +5,11 @@ import com.seibel.cpss.database.db.entity.CompanyDb;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +19,9 @@ public interface CompanyRepository extends JpaRepository<CompanyDb, Long> {
     Optional<CompanyDb> findByCode(String code);
     Page<CompanyDb> findByActive(ActiveEnum active, Pageable pageable);
     boolean existsByExtid(String extid);
+
+    // Every code sharing a prefix/suffix, see CodeGenerator.CodeFamily#likePattern. A locking read,
+    // so it sees the latest committed codes and holds the range until the caller's transaction ends
+    @Query(value = "SELECT code FROM company WHERE code LIKE :pattern FOR SHARE", nativeQuery = true)
+    List<String> findCodesLike(@Param("pattern") String pattern);
 }
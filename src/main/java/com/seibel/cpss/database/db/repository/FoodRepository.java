@@ -2,7 +2,10 @@ package com.seibel.cpss.database.db.repository;
 
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.entity.FoodDb;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,15 @@ public interface FoodRepository extends ListCrudRepository<FoodDb, Long> {
     boolean existsByExtid(String extid);
     Optional<FoodDb> findByCode(String code);
     Optional<FoodDb> findByName(String name);
+
+    @Query("SELECT f.extid, f.id FROM FoodDb f WHERE f.extid IN :extids")
+    List<Object[]> findIdsByExtidIn(@Param("extids") List<String> extids);
+
+    @Query("SELECT f FROM FoodDb f LEFT JOIN FETCH f.nutrition WHERE f.id > :after ORDER BY f.id")
+    List<FoodDb> findPageAfter(@Param("after") long after, Pageable pageable);
+
+    // Every code sharing a prefix/suffix, see CodeGenerator.CodeFamily#likePattern. A locking read,
+    // so it sees the latest committed codes and holds the range until the caller's transaction ends
+    @Query(value = "SELECT code FROM food WHERE code LIKE :pattern FOR SHARE", nativeQuery = true)
+    List<String> findCodesLike(@Param("pattern") String pattern);
 }
@@ -2,6 +2,8 @@ package com.seibel.cpss.database.db.repository;
 
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.entity.MixtureDb;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -24,13 +26,18 @@ public interface MixtureRepository extends JpaRepository<MixtureDb, Long> {
 
     List<MixtureDb> findByUserExtid(String userExtid);
 
+    // Per-user listing maps the whole graph, so fetch it in the same statement
+    @EntityGraph(attributePaths = {"ingredients", "ingredients.food", "ingredients.food.nutrition"})
     List<MixtureDb> findByUserExtidAndActive(String userExtid, ActiveEnum active);
 
-    @Query("SELECT DISTINCT m FROM MixtureDb m " +
-           "LEFT JOIN FETCH m.ingredients i " +
-           "LEFT JOIN FETCH i.food f " +
-           "LEFT JOIN FETCH f.nutrition")
-    List<MixtureDb> findAllWithIngredients();
+    @Query("SELECT m.id FROM MixtureDb m ORDER BY m.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT m.id FROM MixtureDb m WHERE m.id > :after ORDER BY m.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    // Parents only; ingredients are batch-fetched on first access via @BatchSize
+    List<MixtureDb> findByIdInOrderByIdAsc(List<Long> ids);
 
     boolean existsByExtid(String extid);
 }
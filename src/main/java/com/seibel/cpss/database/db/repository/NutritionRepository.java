@@ -2,7 +2,10 @@ package com.seibel.cpss.database.db.repository;
 
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.entity.NutritionDb;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +19,15 @@ public interface NutritionRepository extends ListCrudRepository<NutritionDb, Lon
     boolean existsByExtid(String extid);
     Optional<NutritionDb> findByCode(String code);
     Optional<NutritionDb> findByName(String name);
-}
 
+    @Query("SELECT n.code, n.id FROM NutritionDb n WHERE n.code IN :codes")
+    List<Object[]> findIdsByCodeIn(@Param("codes") List<String> codes);
+
+    @Query("SELECT n FROM NutritionDb n WHERE n.id > :after ORDER BY n.id")
+    List<NutritionDb> findPageAfter(@Param("after") long after, Pageable pageable);
+
+    // Every code sharing a prefix/suffix, see CodeGenerator.CodeFamily#likePattern. A locking read,
+    // so it sees the latest committed codes and holds the range until the caller's transaction ends
+    @Query(value = "SELECT code FROM nutrition WHERE code LIKE :pattern FOR SHARE", nativeQuery = true)
+    List<String> findCodesLike(@Param("pattern") String pattern);
+}
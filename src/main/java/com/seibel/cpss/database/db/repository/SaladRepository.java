@@ -2,6 +2,8 @@ package com.seibel.cpss.database.db.repository;
 
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.entity.SaladDb;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,13 +23,19 @@ public interface SaladRepository extends JpaRepository<SaladDb, Long> {
     Optional<SaladDb> findByExtid(@Param("extid") String extid);
 
     List<SaladDb> findByUserExtid(String userExtid);
+
+    // Per-user listing maps the whole graph, so fetch it in the same statement
+    @EntityGraph(attributePaths = {"foodIngredients", "foodIngredients.food", "foodIngredients.food.nutrition"})
     List<SaladDb> findByUserExtidAndActive(String userExtid, ActiveEnum active);
 
-    @Query("SELECT DISTINCT s FROM SaladDb s " +
-           "LEFT JOIN FETCH s.foodIngredients i " +
-           "LEFT JOIN FETCH i.food f " +
-           "LEFT JOIN FETCH f.nutrition")
-    List<SaladDb> findAllWithIngredients();
+    @Query("SELECT s.id FROM SaladDb s ORDER BY s.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT s.id FROM SaladDb s WHERE s.id > :after ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    // Parents only; ingredients are batch-fetched on first access via @BatchSize
+    List<SaladDb> findByIdInOrderByIdAsc(List<Long> ids);
 
     boolean existsByExtid(String extid);
 }
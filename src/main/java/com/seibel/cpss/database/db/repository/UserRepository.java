@@ -2,6 +2,8 @@ package com.seibel.cpss.database.db.repository;
 
 import com.seibel.cpss.database.db.entity.UserDb;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +15,7 @@ public interface UserRepository extends JpaRepository<UserDb, Long> {
     Optional<UserDb> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByExtid(String extid);
+
+    @Query("SELECT u.tokenVersion FROM UserDb u WHERE u.extid = :extid")
+    Optional<Integer> findTokenVersionByExtid(@Param("extid") String extid);
 }
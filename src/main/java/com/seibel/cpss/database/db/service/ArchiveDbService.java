@@ -0,0 +1,107 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves rows out of the hot tables into their {@code *_archive} copies, one
+ * bounded chunk per transaction. Archive tables are created with
+ * {@code CREATE TABLE ... LIKE} plus a trailing {@code archived_at} column, so
+ * rows are copied with {@code SELECT t.*, archived_at}.
+ * <p>
+ * Candidate rows are selected with {@code FOR UPDATE SKIP LOCKED}: rows a user
+ * request currently holds are left for the next chunk instead of being waited on.
+ */
+@Slf4j
+@Service
+public class ArchiveDbService extends BaseDbService {
+
+    public enum Target {
+        SALADS("salad", "salad_food_ingredient", "salad_id",
+                "active = 0 AND deleted_at < ?", 1),
+        MIXTURES("mixture", "mixture_ingredient", "mixture_id",
+                "active = 0 AND deleted_at < ?", 1),
+        RESET_TOKENS("password_reset_token", null, null,
+                "expires_at < ? OR (active = 0 AND deleted_at < ?)", 2);
+
+        private final String table;
+        private final String childTable;
+        private final String childForeignKey;
+        private final String condition;
+        private final int cutoffParams;
+
+        Target(String table, String childTable, String childForeignKey, String condition, int cutoffParams) {
+            this.table = table;
+            this.childTable = childTable;
+            this.childForeignKey = childForeignKey;
+            this.condition = condition;
+            this.cutoffParams = cutoffParams;
+        }
+
+        public String table() {
+            return table;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArchiveDbService(JdbcTemplate jdbcTemplate) {
+        super("ArchiveDb");
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Archives up to {@code limit} rows of the target that became eligible before
+     * the cutoff, together with their child rows.
+     *
+     * @return the number of parent rows archived; less than the limit means the
+     *         target is drained (or the remaining rows are locked)
+     */
+    @Transactional
+    public int archiveChunk(Target target, LocalDateTime cutoff, int limit) {
+        try {
+            Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+            List<Object> params = new ArrayList<>(Collections.nCopies(target.cutoffParams, cutoffTs));
+            params.add(limit);
+
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM " + target.table + " WHERE " + target.condition +
+                    " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                    Long.class, params.toArray());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+            Object[] idParams = ids.toArray();
+            Object[] archiveParams = new Object[ids.size() + 1];
+            archiveParams[0] = Timestamp.valueOf(LocalDateTime.now());
+            System.arraycopy(idParams, 0, archiveParams, 1, ids.size());
+
+            if (target.childTable != null) {
+                jdbcTemplate.update("INSERT INTO " + target.childTable + "_archive SELECT c.*, ? FROM " +
+                        target.childTable + " c WHERE c." + target.childForeignKey + " IN (" + in + ")", archiveParams);
+                jdbcTemplate.update("DELETE FROM " + target.childTable +
+                        " WHERE " + target.childForeignKey + " IN (" + in + ")", idParams);
+            }
+            jdbcTemplate.update("INSERT INTO " + target.table + "_archive SELECT t.*, ? FROM " +
+                    target.table + " t WHERE t.id IN (" + in + ")", archiveParams);
+            jdbcTemplate.update("DELETE FROM " + target.table + " WHERE id IN (" + in + ")", idParams);
+
+            return ids.size();
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("archive " + target.table), e);
+            throw new DatabaseFailureException(failedOperationMessage("archive " + target.table), e);
+        }
+    }
+}
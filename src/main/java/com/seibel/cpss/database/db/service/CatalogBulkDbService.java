@@ -0,0 +1,392 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.util.CodeGenerator;
+import com.seibel.cpss.common.util.ExtidGenerator;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Bulk write path for catalog rows (nutrition and food) used by the data loader
+ * and the catalog import endpoint.
+ * <p>
+ * Rows are written with JDBC batch statements, which the MySQL driver rewrites into
+ * multi-row INSERTs when {@code rewriteBatchedStatements=true}. Upserts match
+ * existing rows by name only: a row whose name exists is updated in place, any
+ * other row is inserted, so reloading a file is idempotent. A row whose code
+ * already belongs to a row with a different name is skipped and reported as a
+ * conflict rather than written over that other row. Ids stay database
+ * assigned (AUTO_INCREMENT): nothing here needs them back, so the IDENTITY strategy
+ * that blocks Hibernate batching does not apply. Codes are generated against an
+ * in-memory set seeded with one query instead of a lookup per candidate.
+ */
+@Slf4j
+@Service
+public class CatalogBulkDbService extends BaseDbService {
+
+    /**
+     * Outcome of a bulk upsert: the number of rows inserted or updated, and the
+     * rows skipped because of a code conflict, keyed by their position in the input.
+     */
+    public record UpsertResult(int written, Map<Integer, String> conflicts) {
+    }
+
+    private static final String INSERT_NUTRITION =
+            "INSERT INTO nutrition (extid, code, name, description, notes, carbohydrate, fat, protein, sugar, " +
+            "fiber, vitamin_d, vitamin_e, created_at, updated_at, active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Existing rows keep their id, extid and code; a soft-deleted row is active again once re-imported
+    private static final String UPDATE_NUTRITION =
+            "UPDATE nutrition SET description = ?, notes = ?, carbohydrate = ?, fat = ?, protein = ?, sugar = ?, " +
+            "fiber = ?, vitamin_d = ?, vitamin_e = ?, updated_at = ?, active = ?, deleted_at = NULL WHERE name = ?";
+
+    private static final String INSERT_FOOD =
+            "INSERT INTO food (extid, code, name, category, subcategory, description, notes, foundation, mixable, " +
+            "crunch, punch, sweet, savory, typical_serving_grams, created_at, updated_at, active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_FOOD =
+            "UPDATE food SET category = ?, subcategory = ?, description = ?, notes = ?, foundation = ?, " +
+            "mixable = ?, crunch = ?, punch = ?, sweet = ?, savory = ?, updated_at = ?, active = ?, deleted_at = NULL " +
+            "WHERE name = ?";
+
+    private static final String UPSERT_LOAD_STATE =
+            "INSERT INTO catalog_load_state (file_name, content_hash, row_count, loaded_at) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE content_hash = VALUES(content_hash), row_count = VALUES(row_count), " +
+            "loaded_at = VALUES(loaded_at)";
+
+    private static final String LINK_FOOD_NUTRITION =
+            "UPDATE food SET nutrition_id = ?, updated_at = ? WHERE id = ?";
+
+    private static final String LINK_FOOD_NUTRITION_BY_NAME =
+            "UPDATE food f JOIN nutrition n ON n.name = f.name SET f.nutrition_id = n.id, f.updated_at = ? " +
+            "WHERE (f.nutrition_id IS NULL OR f.nutrition_id <> n.id) AND f.name IN (%s)";
+
+    private static final int[] INSERT_NUTRITION_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.INTEGER
+    };
+
+    private static final int[] UPDATE_NUTRITION_TYPES = {
+            Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.TIMESTAMP, Types.INTEGER, Types.VARCHAR
+    };
+
+    private static final int[] INSERT_FOOD_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR,
+            Types.BOOLEAN, Types.BOOLEAN,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.INTEGER
+    };
+
+    private static final int[] UPDATE_FOOD_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BOOLEAN, Types.BOOLEAN,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.TIMESTAMP, Types.INTEGER, Types.VARCHAR
+    };
+
+    private static final int[] LINK_TYPES = {Types.BIGINT, Types.TIMESTAMP, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCaches catalogCaches;
+    private final int batchSize;
+
+    public CatalogBulkDbService(JdbcTemplate jdbcTemplate, CatalogCaches catalogCaches,
+                                @Value("${app.loader.batch-size:200}") int batchSize) {
+        super("CatalogBulkDb");
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogCaches = catalogCaches;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts new nutrition rows and updates existing ones matched by name.
+     * Existing rows keep their code and are reactivated if soft-deleted; new rows
+     * use the given code or get one generated.
+     */
+    @Transactional
+    public UpsertResult upsertNutrition(List<Nutrition> items) {
+        if (items.isEmpty()) {
+            return new UpsertResult(0, Map.of());
+        }
+
+        try {
+            CatalogKeys keys = loadKeys("nutrition");
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            Map<Integer, String> conflicts = new TreeMap<>();
+            for (int i = 0; i < items.size(); i++) {
+                Nutrition item = items.get(i);
+                String name = item.getName().trim();
+                String code = isBlank(item.getCode()) ? null : item.getCode().trim();
+
+                String conflict = keys.conflict(code, name);
+                if (conflict != null) {
+                    conflicts.put(i, conflict);
+                } else if (keys.hasName(name)) {
+                    updates.add(new Object[]{
+                            item.getDescription(), item.getNotes(),
+                            item.getCarbohydrate(), item.getFat(), item.getProtein(), item.getSugar(),
+                            item.getFiber(), item.getVitaminD(), item.getVitaminE(),
+                            now, ActiveEnum.ACTIVE.value, name
+                    });
+                } else {
+                    if (code == null) {
+                        code = CodeGenerator.generateCode(name, keys::hasCode);
+                    }
+                    keys.add(name, code);
+                    inserts.add(new Object[]{
+                            ExtidGenerator.newExtid(), code, name, item.getDescription(), item.getNotes(),
+                            item.getCarbohydrate(), item.getFat(), item.getProtein(), item.getSugar(),
+                            item.getFiber(), item.getVitaminD(), item.getVitaminE(),
+                            now, now, ActiveEnum.ACTIVE.value
+                    });
+                }
+            }
+
+            int written = executeBatch(INSERT_NUTRITION, inserts, INSERT_NUTRITION_TYPES)
+                    + executeBatch(UPDATE_NUTRITION, updates, UPDATE_NUTRITION_TYPES);
+            catalogCaches.invalidateAll();
+            log.info("Bulk upserted {} nutrition rows ({} new), skipped {} with conflicting codes",
+                    written, inserts.size(), conflicts.size());
+            return new UpsertResult(written, conflicts);
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("bulk upsert nutrition"), e);
+            throw new DatabaseFailureException(failedOperationMessage("bulk upsert nutrition"), e);
+        }
+    }
+
+    /**
+     * Inserts new food rows and updates existing ones matched by name. Existing
+     * foods keep their code and are reactivated if soft-deleted; new foods use
+     * the given code or get one generated.
+     */
+    @Transactional
+    public UpsertResult upsertFoods(List<Food> items) {
+        if (items.isEmpty()) {
+            return new UpsertResult(0, Map.of());
+        }
+
+        try {
+            CatalogKeys keys = loadKeys("food");
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            Map<Integer, String> conflicts = new TreeMap<>();
+            for (int i = 0; i < items.size(); i++) {
+                Food item = items.get(i);
+                String name = item.getName().trim();
+                String code = isBlank(item.getCode()) ? null : item.getCode().trim();
+
+                String conflict = keys.conflict(code, name);
+                if (conflict != null) {
+                    conflicts.put(i, conflict);
+                } else if (keys.hasName(name)) {
+                    updates.add(new Object[]{
+                            item.getCategory(), item.getSubcategory(), item.getDescription(), item.getNotes(),
+                            Boolean.TRUE.equals(item.getFoundation()), Boolean.TRUE.equals(item.getMixable()),
+                            item.getCrunch(), item.getPunch(), item.getSweet(), item.getSavory(),
+                            now, ActiveEnum.ACTIVE.value, name
+                    });
+                } else {
+                    if (code == null) {
+                        code = CodeGenerator.generateCode(name, item.getCategory(), item.getSubcategory(),
+                                                          keys::hasCode);
+                    }
+                    keys.add(name, code);
+                    inserts.add(new Object[]{
+                            ExtidGenerator.newExtid(), code, name, item.getCategory(), item.getSubcategory(),
+                            item.getDescription(), item.getNotes(),
+                            Boolean.TRUE.equals(item.getFoundation()), Boolean.TRUE.equals(item.getMixable()),
+                            item.getCrunch(), item.getPunch(), item.getSweet(), item.getSavory(),
+                            item.getTypicalServingGrams(),
+                            now, now, ActiveEnum.ACTIVE.value
+                    });
+                }
+            }
+
+            int written = executeBatch(INSERT_FOOD, inserts, INSERT_FOOD_TYPES)
+                    + executeBatch(UPDATE_FOOD, updates, UPDATE_FOOD_TYPES);
+            catalogCaches.invalidateAll();
+            log.info("Bulk upserted {} food rows ({} new), skipped {} with conflicting codes",
+                    written, inserts.size(), conflicts.size());
+            return new UpsertResult(written, conflicts);
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("bulk upsert food"), e);
+            throw new DatabaseFailureException(failedOperationMessage("bulk upsert food"), e);
+        }
+    }
+
+    /**
+     * Points each food at its nutrition row in batched UPDATEs.
+     *
+     * @param nutritionIdByFoodId nutrition id to set, keyed by food id
+     */
+    @Transactional
+    public int linkFoodNutrition(Map<Long, Long> nutritionIdByFoodId) {
+        if (nutritionIdByFoodId.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(nutritionIdByFoodId.size());
+            nutritionIdByFoodId.forEach((foodId, nutritionId) -> rows.add(new Object[]{nutritionId, now, foodId}));
+
+            int updated = executeBatch(LINK_FOOD_NUTRITION, rows, LINK_TYPES);
+            catalogCaches.invalidateAll();
+            return updated;
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("link food nutrition"), e);
+            throw new DatabaseFailureException(failedOperationMessage("link food nutrition"), e);
+        }
+    }
+
+    /**
+     * Points foods at the nutrition row with the same name, for the given names
+     * only. Used after an import, where either side of the link may be new.
+     */
+    @Transactional
+    public int linkFoodNutritionByName(Collection<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            String placeholders = String.join(", ", Collections.nCopies(names.size(), "?"));
+            List<Object> args = new ArrayList<>(names.size() + 1);
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.addAll(names);
+
+            int updated = jdbcTemplate.update(LINK_FOOD_NUTRITION_BY_NAME.formatted(placeholders), args.toArray());
+            if (updated > 0) {
+                catalogCaches.invalidateAll();
+            }
+            return updated;
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("link food nutrition by name"), e);
+            throw new DatabaseFailureException(failedOperationMessage("link food nutrition by name"), e);
+        }
+    }
+
+    /**
+     * Returns the content hash last loaded for each catalog file, keyed by file name.
+     */
+    public Map<String, String> findLoadedFileHashes() {
+        try {
+            Map<String, String> hashes = new HashMap<>();
+            jdbcTemplate.query("SELECT file_name, content_hash FROM catalog_load_state",
+                    rs -> { hashes.put(rs.getString("file_name"), rs.getString("content_hash")); });
+            return hashes;
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("read catalog load state"), e);
+            throw new DatabaseFailureException(failedOperationMessage("read catalog load state"), e);
+        }
+    }
+
+    @Transactional
+    public void recordLoadedFile(String fileName, String contentHash, int rowCount) {
+        try {
+            jdbcTemplate.update(UPSERT_LOAD_STATE, fileName, contentHash, rowCount,
+                    Timestamp.valueOf(LocalDateTime.now()));
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("record catalog load state", fileName), e);
+            throw new DatabaseFailureException(failedOperationMessage("record catalog load state"), e);
+        }
+    }
+
+    private CatalogKeys loadKeys(String table) {
+        CatalogKeys keys = new CatalogKeys();
+        jdbcTemplate.query("SELECT name, code FROM " + table,
+                rs -> { keys.add(rs.getString("name"), rs.getString("code")); });
+        return keys;
+    }
+
+    private int executeBatch(String sql, List<Object[]> rows, int[] types) {
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            jdbcTemplate.batchUpdate(sql, chunk, types);
+            inserted += chunk.size();
+        }
+        return inserted;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Names and codes of one catalog table, including rows placed earlier in the
+     * same batch. Both columns use a case-insensitive collation.
+     */
+    private static final class CatalogKeys {
+
+        private final Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, String> nameByCode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        void add(String name, String code) {
+            names.add(name);
+            if (code != null) {
+                nameByCode.put(code, name);
+            }
+        }
+
+        boolean hasName(String name) {
+            return names.contains(name);
+        }
+
+        boolean hasCode(String code) {
+            return nameByCode.containsKey(code);
+        }
+
+        /**
+         * @return why the row cannot be written, or null when {@code code} is
+         * unset, free or already the code of {@code name}
+         */
+        String conflict(String code, String name) {
+            String owner = code == null ? null : nameByCode.get(code);
+            if (owner == null || owner.equalsIgnoreCase(name)) {
+                return null;
+            }
+            return "code " + code + " already belongs to " + owner;
+        }
+    }
+}
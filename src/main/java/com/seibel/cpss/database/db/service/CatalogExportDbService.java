@@ -0,0 +1,115 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read path for catalog exports. Rows are read with keyset pagination on the
+ * primary key straight from JDBC, one bounded page per query, so nothing is
+ * attached to a persistence context and memory stays proportional to the page
+ * size whatever the table size. Only active rows are exported, and an
+ * ingredient row only when its parent is active too.
+ * <p>
+ * Each dataset selects the columns of the matching {@code db/data} seed file,
+ * in the same order, so an export can be fed back to the data loader or the
+ * catalog import endpoint.
+ */
+@Slf4j
+@Service
+public class CatalogExportDbService extends BaseDbService {
+
+    public enum Dataset {
+        FOOD("10-food",
+                "SELECT f.id, f.name, f.category, f.subcategory, f.description, f.notes, f.foundation, f.mixable, " +
+                "f.crunch, f.punch, f.sweet, f.savory FROM food f WHERE f.active = ? AND f.id > ? ORDER BY f.id LIMIT ?",
+                "name", "category", "subcategory", "description", "notes", "foundation", "mixable",
+                "crunch", "punch", "sweet", "savory"),
+        NUTRITION("40-nutrition",
+                "SELECT n.id, n.code, n.name, n.description, n.notes, n.carbohydrate, n.fat, n.protein, n.sugar, " +
+                "n.fiber, n.vitamin_d, n.vitamin_e FROM nutrition n WHERE n.active = ? AND n.id > ? ORDER BY n.id LIMIT ?",
+                "code", "name", "description", "notes", "carbohydrate", "fat", "protein", "sugar",
+                "fiber", "vitamin_d", "vitamin_e"),
+        MIXTURE("50-mixture",
+                "SELECT m.id, m.name, m.description FROM mixture m WHERE m.active = ? AND m.id > ? ORDER BY m.id LIMIT ?",
+                "name", "description"),
+        MIXTURE_INGREDIENT("60-mixture-ingredient",
+                "SELECT i.id, m.name, f.name, i.grams FROM mixture_ingredient i " +
+                "JOIN mixture m ON m.id = i.mixture_id JOIN food f ON f.id = i.food_id " +
+                "WHERE i.active = ? AND m.active = i.active AND i.id > ? ORDER BY i.id LIMIT ?",
+                "mixture_name", "food_name", "grams"),
+        SALAD("70-salad",
+                "SELECT s.id, s.name, s.description FROM salad s WHERE s.active = ? AND s.id > ? ORDER BY s.id LIMIT ?",
+                "name", "description"),
+        SALAD_INGREDIENT("80-salad-food-ingredient",
+                "SELECT i.id, s.name, f.name, i.grams FROM salad_food_ingredient i " +
+                "JOIN salad s ON s.id = i.salad_id JOIN food f ON f.id = i.food_id " +
+                "WHERE i.active = ? AND s.active = i.active AND i.id > ? ORDER BY i.id LIMIT ?",
+                "salad_name", "food_name", "grams");
+
+        private final String fileName;
+        private final String pageSql;
+        private final List<String> columns;
+
+        Dataset(String fileName, String pageSql, String... columns) {
+            this.fileName = fileName;
+            this.pageSql = pageSql;
+            this.columns = List.of(columns);
+        }
+
+        /**
+         * @return the seed file name without extension, e.g. {@code 10-food}
+         */
+        public String fileName() {
+            return fileName;
+        }
+
+        public List<String> columns() {
+            return columns;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogExportDbService(JdbcTemplate jdbcTemplate) {
+        super("CatalogExportDb");
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads up to {@code limit} rows with an id greater than {@code after} and
+     * hands each to {@code rowHandler} as its values in {@link Dataset#columns()} order.
+     *
+     * @return the id to continue after, or null when this was the last page
+     */
+    public Long readPage(Dataset dataset, long after, int limit, Consumer<Object[]> rowHandler) {
+        try {
+            int width = dataset.columns.size();
+            long[] last = {after};
+            int[] count = {0};
+            jdbcTemplate.query(dataset.pageSql, rs -> {
+                Object[] values = new Object[width];
+                for (int i = 0; i < width; i++) {
+                    values[i] = rs.getObject(i + 2);
+                }
+                last[0] = rs.getLong(1);
+                count[0]++;
+                rowHandler.accept(values);
+            }, ActiveEnum.ACTIVE.value, after, limit);
+            return count[0] < limit ? null : last[0];
+
+        } catch (UncheckedIOException e) {
+            // The consumer went away; not a database failure
+            throw e;
+        } catch (Exception e) {
+            log.error(failedOperationMessage("export " + dataset.fileName + " page after " + after), e);
+            throw new DatabaseFailureException(failedOperationMessage("export " + dataset.fileName), e);
+        }
+    }
+}
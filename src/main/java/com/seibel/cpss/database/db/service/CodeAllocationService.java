@@ -0,0 +1,123 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.util.CodeGenerator;
+import com.seibel.cpss.common.util.CodeGenerator.CodeFamily;
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.repository.CompanyRepository;
+import com.seibel.cpss.database.db.repository.FoodRepository;
+import com.seibel.cpss.database.db.repository.NutritionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Allocates unique food, nutrition and company codes.
+ * <p>
+ * All codes a name could collide with share the prefix and suffix of its
+ * {@link CodeFamily}, so they are fetched with one LIKE query and the first
+ * free candidate is picked in memory, instead of one SELECT per candidate.
+ * <p>
+ * The query is a locking read in the caller's transaction, so it sees the latest
+ * committed codes and an insert into the range from another transaction waits
+ * until the caller commits. Allocations for the same table on this instance are
+ * serialized until the allocating transaction completes; otherwise two of them
+ * would share the range lock and then both insert into it, which InnoDB resolves
+ * by failing one with a deadlock. Callers must allocate inside the transaction
+ * that inserts the row; the unique constraint on {@code code} still guards
+ * against other application instances.
+ */
+@Slf4j
+@Service
+public class CodeAllocationService extends BaseDbService {
+
+    enum Table { FOOD, NUTRITION, COMPANY }
+
+    // Longer than a create transaction should ever take, shorter than InnoDB's lock wait timeout
+    private static final long LOCK_TIMEOUT_SECONDS = 30;
+
+    private final FoodRepository foodRepository;
+    private final NutritionRepository nutritionRepository;
+    private final CompanyRepository companyRepository;
+
+    // Held from allocation until the allocating transaction completes
+    private final Map<Table, ReentrantLock> allocationLocks = new EnumMap<>(Table.class);
+
+    public CodeAllocationService(FoodRepository foodRepository, NutritionRepository nutritionRepository,
+                                 CompanyRepository companyRepository) {
+        super("CodeAllocation");
+        this.foodRepository = foodRepository;
+        this.nutritionRepository = nutritionRepository;
+        this.companyRepository = companyRepository;
+        for (Table table : Table.values()) {
+            allocationLocks.put(table, new ReentrantLock());
+        }
+    }
+
+    public String allocateFoodCode(String name, String category, String subcategory) {
+        return allocate(Table.FOOD, CodeGenerator.family(name, category, subcategory), foodRepository::findCodesLike);
+    }
+
+    public String allocateNutritionCode(String name) {
+        return allocate(Table.NUTRITION, CodeGenerator.family(name), nutritionRepository::findCodesLike);
+    }
+
+    public String allocateCompanyCode(String name) {
+        return allocate(Table.COMPANY, CodeGenerator.family(name), companyRepository::findCodesLike);
+    }
+
+    private String allocate(Table table, CodeFamily family, Function<String, List<String>> codesLike) {
+        ReentrantLock lock = allocationLocks.get(table);
+        acquire(table, lock);
+        try {
+            Set<String> taken = codeSet();
+            taken.addAll(codesLike.apply(family.likePattern()));
+            String code = family.firstFree(taken::contains);
+
+            log.debug("Allocated code '{}' after {} existing code(s) matching '{}'", code, taken.size(),
+                    family.likePattern());
+            return code;
+        } finally {
+            releaseOnCompletion(lock);
+        }
+    }
+
+    private static void acquire(Table table, ReentrantLock lock) {
+        try {
+            if (lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new DatabaseFailureException("Timed out waiting to allocate a " + table.name().toLowerCase() + " code");
+    }
+
+    private static void releaseOnCompletion(ReentrantLock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // No transaction to wait for; the insert is already racing the next allocation
+            lock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    // The code columns use a case-insensitive collation
+    private static Set<String> codeSet() {
+        return new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    }
+}
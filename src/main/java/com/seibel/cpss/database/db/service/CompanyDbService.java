@@ -2,7 +2,7 @@ package com.seibel.cpss.database.db.service;
 
 import com.seibel.cpss.common.domain.Company;
 import com.seibel.cpss.common.enums.ActiveEnum;
-import com.seibel.cpss.common.util.CodeGenerator;
+import com.seibel.cpss.common.util.ExtidGenerator;
 import com.seibel.cpss.database.db.entity.CompanyDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
 import com.seibel.cpss.database.db.mapper.CompanyMapper;
@@ -12,10 +12,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -23,15 +23,19 @@ public class CompanyDbService extends BaseDbService {
 
     private final CompanyRepository repository;
     private final CompanyMapper mapper;
+    private final CodeAllocationService codeAllocationService;
 
-    public CompanyDbService(CompanyRepository repository, CompanyMapper mapper) {
+    public CompanyDbService(CompanyRepository repository, CompanyMapper mapper,
+                            CodeAllocationService codeAllocationService) {
         super("CompanyDb");
         this.repository = repository;
         this.mapper = mapper;
+        this.codeAllocationService = codeAllocationService;
     }
 
+    @Transactional
     public Company create(String code, @NonNull String name, @NonNull String description) {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
@@ -40,10 +44,7 @@ public class CompanyDbService extends BaseDbService {
 
             // Auto-generate code if not provided
             if (code == null || code.trim().isEmpty()) {
-                String generatedCode = CodeGenerator.generateCode(
-                    name,
-                    c -> repository.findByCode(c).isPresent()
-                );
+                String generatedCode = codeAllocationService.allocateCompanyCode(name);
                 record.setCode(generatedCode);
                 log.info("Auto-generated code '{}' for company '{}'", generatedCode, name);
             } else {
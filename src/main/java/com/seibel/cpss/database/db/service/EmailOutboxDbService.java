@@ -0,0 +1,150 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Storage for the {@code email_outbox} table.
+ * <p>
+ * Due rows are claimed with {@code FOR UPDATE SKIP LOCKED} and leased by moving
+ * their {@code next_attempt_at} forward, all in one short transaction, so no
+ * lock is held while the mail server is talked to and two instances never claim
+ * the same row. A dispatcher that dies mid-batch leaves its rows to be claimed
+ * again once the lease runs out, so delivery is at least once.
+ */
+@Slf4j
+@Service
+public class EmailOutboxDbService extends BaseDbService {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    private static final int MAX_ERROR = 1000;
+
+    public record OutboxEmail(long id, String recipient, String subject, String body, int attempts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailOutboxDbService(JdbcTemplate jdbcTemplate) {
+        super("EmailOutboxDb");
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void enqueue(String recipient, String subject, String body) {
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update("INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+                            "VALUES (?, ?, ?, ?, 0, ?, ?)",
+                    recipient, subject, body, PENDING, now, now);
+        } catch (Exception e) {
+            log.error(failedOperationMessage("enqueue"), e);
+            throw new DatabaseFailureException(failedOperationMessage("enqueue"), e);
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} pending rows due at {@code now} and leases them
+     * until {@code leaseUntil}.
+     */
+    @Transactional
+    public List<OutboxEmail> claimBatch(LocalDateTime now, int limit, LocalDateTime leaseUntil) {
+        try {
+            List<OutboxEmail> batch = jdbcTemplate.query(
+                    "SELECT id, recipient, subject, body, attempts FROM email_outbox " +
+                    "WHERE status = ? AND next_attempt_at <= ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                    (rs, rowNum) -> new OutboxEmail(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getInt(5)),
+                    PENDING, Timestamp.valueOf(now), limit);
+            if (batch.isEmpty()) {
+                return batch;
+            }
+
+            String in = String.join(",", Collections.nCopies(batch.size(), "?"));
+            Object[] params = new Object[batch.size() + 1];
+            params[0] = Timestamp.valueOf(leaseUntil);
+            for (int i = 0; i < batch.size(); i++) {
+                params[i + 1] = batch.get(i).id();
+            }
+            jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE id IN (" + in + ")", params);
+            return batch;
+
+        } catch (Exception e) {
+            log.error(failedOperationMessage("claim batch"), e);
+            throw new DatabaseFailureException(failedOperationMessage("claim batch"), e);
+        }
+    }
+
+    /**
+     * Marks the emails sent. Like {@link #markRetry} and {@link #markDead}, the
+     * attempt count is written as an absolute value: the count the email was
+     * claimed with plus this attempt. A row claimed twice after its lease ran
+     * out is therefore not counted twice for the same attempt.
+     */
+    public void markSent(List<OutboxEmail> emails, LocalDateTime sentAt) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        try {
+            Timestamp sent = Timestamp.valueOf(sentAt);
+            List<Object[]> rows = emails.stream()
+                    .map(email -> new Object[]{SENT, sent, email.attempts() + 1, email.id()})
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE email_outbox SET status = ?, sent_at = ?, attempts = ?, last_error = NULL " +
+                    "WHERE id = ?", rows);
+        } catch (Exception e) {
+            log.error(failedOperationMessage("mark sent"), e);
+            throw new DatabaseFailureException(failedOperationMessage("mark sent"), e);
+        }
+    }
+
+    public void markRetry(long id, int attempts, LocalDateTime nextAttemptAt, String error) {
+        try {
+            jdbcTemplate.update("UPDATE email_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?",
+                    attempts, Timestamp.valueOf(nextAttemptAt), truncate(error), id);
+        } catch (Exception e) {
+            log.error(failedOperationMessage("mark retry"), e);
+            throw new DatabaseFailureException(failedOperationMessage("mark retry"), e);
+        }
+    }
+
+    public void markDead(long id, int attempts, String error) {
+        try {
+            jdbcTemplate.update("UPDATE email_outbox SET status = ?, attempts = ?, last_error = ? WHERE id = ?",
+                    DEAD, attempts, truncate(error), id);
+        } catch (Exception e) {
+            log.error(failedOperationMessage("mark dead"), e);
+            throw new DatabaseFailureException(failedOperationMessage("mark dead"), e);
+        }
+    }
+
+    /**
+     * Deletes up to {@code limit} sent or dead-lettered rows last claimed before
+     * {@code cutoff}. A finished row's {@code next_attempt_at} is the lease of
+     * its last claim, so the status index serves this query too.
+     *
+     * @return the number of rows deleted
+     */
+    public int purgeFinished(LocalDateTime cutoff, int limit) {
+        try {
+            return jdbcTemplate.update("DELETE FROM email_outbox WHERE status IN (?, ?) AND next_attempt_at < ? LIMIT ?",
+                    SENT, DEAD, Timestamp.valueOf(cutoff), limit);
+        } catch (Exception e) {
+            log.error(failedOperationMessage("purge"), e);
+            throw new DatabaseFailureException(failedOperationMessage("purge"), e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR ? error : error.substring(0, MAX_ERROR);
+    }
+}
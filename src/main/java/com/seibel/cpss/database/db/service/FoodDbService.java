@@ -1,19 +1,27 @@
 package com.seibel.cpss.database.db.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.common.enums.ActiveEnum;
-import com.seibel.cpss.common.util.CodeGenerator;
+import com.seibel.cpss.common.util.ExtidGenerator;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
 import com.seibel.cpss.database.db.entity.FoodDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.filter.ActiveRowFilter;
 import com.seibel.cpss.database.db.mapper.FoodMapper;
 import com.seibel.cpss.database.db.mapper.NutritionMapper;
 import com.seibel.cpss.database.db.repository.FoodRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,29 +30,44 @@ public class FoodDbService extends BaseDbService {
     private final FoodRepository repository;
     private final FoodMapper mapper;
     private final NutritionMapper nutritionMapper;
+    private final CatalogCaches catalogCaches;
+    private final ActiveRowFilter activeRowFilter;
+    private final CodeAllocationService codeAllocationService;
+    private final IdResolutionService idResolutionService;
 
     public FoodDbService(FoodRepository repository, FoodMapper mapper,
-                         NutritionMapper nutritionMapper) {
+                         NutritionMapper nutritionMapper, CatalogCaches catalogCaches,
+                         ActiveRowFilter activeRowFilter, CodeAllocationService codeAllocationService,
+                         IdResolutionService idResolutionService) {
         super("FoodDb");
         this.repository = repository;
         this.mapper = mapper;
         this.nutritionMapper = nutritionMapper;
+        this.catalogCaches = catalogCaches;
+        this.activeRowFilter = activeRowFilter;
+        this.codeAllocationService = codeAllocationService;
+        this.idResolutionService = idResolutionService;
     }
 
+    @Transactional
     public Food create(Food item) throws DatabaseFailureException {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
             FoodDb entity = mapper.toDb(item);
 
+            // Attach the nutrition row by code as a reference, without loading it
+            if (item.getNutrition() != null) {
+                entity.setNutrition(idResolutionService.nutritionReference(item.getNutrition().getCode()));
+            }
+
             // Auto-generate code if not provided
             if (entity.getCode() == null || entity.getCode().trim().isEmpty()) {
-                String generatedCode = CodeGenerator.generateCode(
+                String generatedCode = codeAllocationService.allocateFoodCode(
                     entity.getName(),
                     entity.getCategory(),
-                    entity.getSubcategory(),
-                    code -> repository.findByCode(code).isPresent()
+                    entity.getSubcategory()
                 );
                 entity.setCode(generatedCode);
                 log.info("Auto-generated code '{}' for food '{}'", generatedCode, entity.getName());
@@ -60,6 +83,7 @@ public class FoodDbService extends BaseDbService {
             entity.setUpdatedAt(now);
             entity.setActive(ActiveEnum.ACTIVE);
             FoodDb saved = repository.save(entity);
+            catalogCaches.invalidateFoods();
             log.info(createdMessage(extid));
             return mapper.toModel(saved);
         } catch (Exception e) {
@@ -81,6 +105,7 @@ public class FoodDbService extends BaseDbService {
         if (item.getFoundation() != null) existing.setFoundation(item.getFoundation());
 
         FoodDb saved = repository.save(existing);
+        catalogCaches.invalidateFoods();
         log.info(updatedMessage(extid));
         return mapper.toModel(saved);
     }
@@ -92,18 +117,27 @@ public class FoodDbService extends BaseDbService {
         existing.setDeletedAt(LocalDateTime.now());
         existing.setActive(ActiveEnum.INACTIVE);
         repository.save(existing);
+        catalogCaches.invalidateFoods();
         log.info(deletedMessage(extid));
         return true;
     }
 
     public Food findByExtid(String extid) throws DatabaseFailureException {
-        return mapper.toModel(repository.findByExtid(extid)
-                .orElseThrow(() -> new DatabaseFailureException(notFoundMessage(extid))));
+        Food food = catalogCaches.foodsByExtid()
+                .get(extid, key -> repository.findByExtid(key).map(mapper::toModel).orElse(null));
+        if (food == null) {
+            throw new DatabaseFailureException(notFoundMessage(extid));
+        }
+        return food;
     }
 
+    /**
+     * Returns all active food rows; soft-deleted rows are filtered out.
+     */
+    @Transactional(readOnly = true)
     public List<Food> findAll() {
-        List<Food> results = mapper.toModelList(repository.findAll());
-        log.info(foundByActiveMessage("all", results.size()));
+        List<Food> results = mapper.toModelList(activeRowFilter.activeOnly(repository::findAll));
+        log.info(foundByActiveMessage(ActiveEnum.ACTIVE.toString(), results.size()));
         return results;
     }
 
@@ -114,8 +148,26 @@ public class FoodDbService extends BaseDbService {
     }
 
     public List<Food> findByExtidIn(List<String> extids) throws DatabaseFailureException {
-        List<Food> results = mapper.toModelList(repository.findByExtidIn(extids));
+        Map<String, Food> found = catalogCaches.foodsByExtid().getAll(extids, missing ->
+                repository.findByExtidIn(missing).stream()
+                        .map(mapper::toModel)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toMap(Food::getExtid, Function.identity(), (a, b) -> a)));
+        List<Food> results = extids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
         log.debug("Found {} foods by extid list", results.size());
         return results;
     }
-}
\ No newline at end of file
+
+    public CursorPage<Food> findPage(long after, int limit) {
+        List<FoodDb> page = repository.findPageAfter(after, PageRequest.of(0, limit + 1));
+        boolean hasNext = page.size() > limit;
+        if (hasNext) {
+            page = page.subList(0, limit);
+        }
+        return CursorPage.<Food>builder()
+                .items(mapper.toModelList(page))
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .limit(limit)
+                .build();
+    }
+}
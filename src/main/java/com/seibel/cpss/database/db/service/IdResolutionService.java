@@ -0,0 +1,110 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.database.db.cache.CatalogCaches;
+import com.seibel.cpss.database.db.cache.IdIndex;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.NutritionDb;
+import com.seibel.cpss.database.db.repository.FoodRepository;
+import com.seibel.cpss.database.db.repository.NutritionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves natural keys (food extid, nutrition code) to primary keys and hands
+ * out {@link EntityManager#getReference} proxies, so mapping to an entity only
+ * to set a foreign key does not SELECT the referenced row.
+ * <p>
+ * Resolved ids are kept in the {@link IdIndex} instances owned by
+ * {@link CatalogCaches} and are dropped on every catalog write. Keys not yet
+ * indexed are resolved together with one id-only query; keys that do not exist
+ * resolve to null, as the entity lookups they replace did.
+ */
+@Service
+public class IdResolutionService extends BaseDbService {
+
+    private final EntityManager entityManager;
+    private final FoodRepository foodRepository;
+    private final NutritionRepository nutritionRepository;
+    private final CatalogCaches catalogCaches;
+
+    public IdResolutionService(EntityManager entityManager, FoodRepository foodRepository,
+                               NutritionRepository nutritionRepository, CatalogCaches catalogCaches) {
+        super("IdResolution");
+        this.entityManager = entityManager;
+        this.foodRepository = foodRepository;
+        this.nutritionRepository = nutritionRepository;
+        this.catalogCaches = catalogCaches;
+    }
+
+    /**
+     * Returns a reference to the food with the given extid, or null if there is none.
+     */
+    public FoodDb foodReference(String extid) {
+        return foodReferences(List.of(extid)).get(extid);
+    }
+
+    /**
+     * Returns references to the foods with the given extids, keyed by extid.
+     * Unknown extids are absent from the result.
+     */
+    public Map<String, FoodDb> foodReferences(Collection<String> extids) {
+        Map<String, Long> ids = resolve(extids, catalogCaches.foodIdsByExtid(), foodRepository::findIdsByExtidIn);
+        return references(FoodDb.class, ids);
+    }
+
+    /**
+     * Returns a reference to the nutrition row with the given code, or null if there is none.
+     */
+    public NutritionDb nutritionReference(String code) {
+        Map<String, Long> ids = resolve(List.of(code), catalogCaches.nutritionIdsByCode(),
+                nutritionRepository::findIdsByCodeIn);
+        return references(NutritionDb.class, ids).get(code);
+    }
+
+    /**
+     * Returns a reference to the entity with the given primary key without loading it.
+     */
+    public <T> T reference(Class<T> type, Long id) {
+        return id == null ? null : entityManager.getReference(type, id);
+    }
+
+    private Map<String, Long> resolve(Collection<String> keys, IdIndex index,
+                                      Function<List<String>, List<Object[]>> idLoader) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (key == null || ids.containsKey(key)) {
+                continue;
+            }
+            Long id = index.idOf(key);
+            if (id != null) {
+                ids.put(key, id);
+            } else if (!missing.contains(key)) {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Object[] row : idLoader.apply(missing)) {
+                String key = (String) row[0];
+                Long id = (Long) row[1];
+                index.put(key, id);
+                ids.put(key, id);
+            }
+        }
+        return ids;
+    }
+
+    private <T> Map<String, T> references(Class<T> type, Map<String, Long> ids) {
+        Map<String, T> references = new HashMap<>(ids.size());
+        ids.forEach((key, id) -> references.put(key, entityManager.getReference(type, id)));
+        return references;
+    }
+}
@@ -0,0 +1,71 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.util.ExtidGenerator;
+import com.seibel.cpss.database.db.entity.BaseIngredientDb;
+import com.seibel.cpss.database.db.entity.FoodDb;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Merges requested ingredient rows into the existing rows of a salad or
+ * mixture, matching by food. A matched row keeps its id and extid and only has
+ * its grams updated when they changed; unmatched requests are inserted and
+ * unmatched rows are removed from the collection, for orphan removal to delete.
+ * A food listed twice matches up to two existing rows.
+ */
+final class IngredientMerger {
+
+    private IngredientMerger() {
+    }
+
+    static <T extends BaseIngredientDb> void merge(List<T> existingRows, List<T> requestedRows, LocalDateTime now) {
+        Map<Long, Deque<T>> existingByFood = new HashMap<>();
+        for (T existing : existingRows) {
+            Long foodId = foodId(existing.getFood());
+            if (foodId != null) {
+                existingByFood.computeIfAbsent(foodId, key -> new ArrayDeque<>()).add(existing);
+            }
+        }
+
+        List<T> inserts = new ArrayList<>();
+        Set<T> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T requested : requestedRows) {
+            Deque<T> matches = existingByFood.get(foodId(requested.getFood()));
+            T match = matches != null ? matches.poll() : null;
+            if (match != null) {
+                if (!Objects.equals(match.getGrams(), requested.getGrams())) {
+                    match.setGrams(requested.getGrams());
+                    match.setUpdatedAt(now);
+                }
+                kept.add(match);
+            } else {
+                requested.setId(null);
+                requested.setExtid(ExtidGenerator.newExtid());
+                requested.setCreatedAt(now);
+                requested.setUpdatedAt(now);
+                requested.setDeletedAt(null);
+                requested.setActive(ActiveEnum.ACTIVE);
+                inserts.add(requested);
+            }
+        }
+
+        existingRows.removeIf(existing -> !kept.contains(existing));
+        existingRows.addAll(inserts);
+    }
+
+    private static Long foodId(FoodDb food) {
+        // Reading the id does not initialize a reference proxy
+        return food != null ? food.getId() : null;
+    }
+}
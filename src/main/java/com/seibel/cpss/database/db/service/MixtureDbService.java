@@ -1,28 +1,33 @@
 package com.seibel.cpss.database.db.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Mixture;
 import com.seibel.cpss.common.domain.MixtureIngredient;
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.util.ExtidGenerator;
 import com.seibel.cpss.database.db.entity.MixtureDb;
-import com.seibel.cpss.database.db.entity.MixtureIngredientDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
 import com.seibel.cpss.database.db.mapper.MixtureIngredientMapper;
 import com.seibel.cpss.database.db.mapper.MixtureMapper;
 import com.seibel.cpss.database.db.repository.MixtureRepository;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @Service
 public class MixtureDbService extends BaseDbService {
 
+    // Matches the @BatchSize on the ingredient collection so each chunk needs one secondary fetch
+    private static final int FETCH_CHUNK_SIZE = 100;
+
     private final MixtureRepository repository;
     private final MixtureMapper mapper;
     private final MixtureIngredientMapper ingredientMapper;
@@ -36,7 +41,7 @@ public class MixtureDbService extends BaseDbService {
 
     @Transactional
     public Mixture create(@NonNull Mixture mixture) {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
@@ -49,19 +54,14 @@ public class MixtureDbService extends BaseDbService {
 
             // Handle ingredients
             if (mixture.getIngredients() != null && !mixture.getIngredients().isEmpty()) {
-                List<MixtureIngredientDb> ingredientDbs = new ArrayList<>();
                 for (MixtureIngredient ingredient : mixture.getIngredients()) {
-                    ingredient.setExtid(UUID.randomUUID().toString());
+                    ingredient.setExtid(ExtidGenerator.newExtid());
                     ingredient.setCreatedAt(now);
                     ingredient.setUpdatedAt(now);
                     ingredient.setActive(ActiveEnum.ACTIVE);
                     ingredient.setMixtureId(null); // Will be set by cascade
-
-                    MixtureIngredientDb ingredientDb = ingredientMapper.toDb(ingredient);
-                    ingredientDb.setMixture(mixtureDb);
-                    ingredientDbs.add(ingredientDb);
                 }
-                mixtureDb.setIngredients(ingredientDbs);
+                mixtureDb.setIngredients(ingredientMapper.toDbList(mixture.getIngredients(), mixtureDb));
             }
 
             MixtureDb saved = repository.save(mixtureDb);
@@ -77,7 +77,7 @@ public class MixtureDbService extends BaseDbService {
 
     @Transactional
     public Mixture update(@NonNull String extid, @NonNull Mixture mixture) {
-        MixtureDb record = repository.findByExtid(extid).orElse(null);
+        MixtureDb record = findRecord(extid).orElse(null);
         if (record == null) {
             log.warn(notFoundMessage(extid));
             return null;
@@ -89,22 +89,10 @@ public class MixtureDbService extends BaseDbService {
             record.setDescription(mixture.getDescription());
             record.setUpdatedAt(now);
 
-            // Handle ingredients update - clear and replace
+            // Merge ingredients by food so unchanged rows keep their id and extid
             if (mixture.getIngredients() != null) {
-                record.getIngredients().clear();
-
-                List<MixtureIngredientDb> ingredientDbs = new ArrayList<>();
-                for (MixtureIngredient ingredient : mixture.getIngredients()) {
-                    ingredient.setExtid(UUID.randomUUID().toString());
-                    ingredient.setCreatedAt(now);
-                    ingredient.setUpdatedAt(now);
-                    ingredient.setActive(ActiveEnum.ACTIVE);
-
-                    MixtureIngredientDb ingredientDb = ingredientMapper.toDb(ingredient);
-                    ingredientDb.setMixture(record);
-                    ingredientDbs.add(ingredientDb);
-                }
-                record.getIngredients().addAll(ingredientDbs);
+                IngredientMerger.merge(record.getIngredients(),
+                        ingredientMapper.toDbList(mixture.getIngredients(), record), now);
             }
 
             MixtureDb updated = repository.save(record);
@@ -119,7 +107,7 @@ public class MixtureDbService extends BaseDbService {
 
     @Transactional
     public void delete(@NonNull String extid) {
-        MixtureDb record = repository.findByExtid(extid).orElse(null);
+        MixtureDb record = findRecord(extid).orElse(null);
         if (record == null) {
             log.warn(notFoundMessage(extid));
             return;
@@ -139,7 +127,7 @@ public class MixtureDbService extends BaseDbService {
 
     public Mixture findByExtid(@NonNull String extid) {
         try {
-            return repository.findByExtid(extid)
+            return findRecord(extid)
                     .map(mapper::toModel)
                     .orElse(null);
 
@@ -149,6 +137,7 @@ public class MixtureDbService extends BaseDbService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Mixture> findByUserExtid(@NonNull String userExtid) {
         try {
             List<MixtureDb> mixtures = repository.findByUserExtidAndActive(userExtid, ActiveEnum.ACTIVE);
@@ -160,14 +149,69 @@ public class MixtureDbService extends BaseDbService {
         }
     }
 
+    /**
+     * Loads every mixture in two phases: all ids first, then the mixtures in
+     * chunks by id, with ingredients, foods and nutrition batch-fetched per chunk.
+     * Each JDBC result set stays proportional to the chunk size.
+     */
+    @Transactional(readOnly = true)
     public List<Mixture> findAll() {
         try {
-            List<MixtureDb> all = repository.findAllWithIngredients();
-            return mapper.toModelList(all);
+            List<Long> ids = repository.findAllIds();
+            List<Mixture> results = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+                int to = Math.min(from + FETCH_CHUNK_SIZE, ids.size());
+                results.addAll(loadWithIngredients(ids.subList(from, to)));
+            }
+            return results;
 
         } catch (Exception e) {
             log.error("Failed to retrieve all mixtures", e);
             throw new DatabaseFailureException("Failed to retrieve all mixtures", e);
         }
     }
+
+    /**
+     * Returns up to {@code limit} mixtures with an id greater than {@code after},
+     * ordered by id. The page of ids is read first (one extra to detect a next
+     * page) and only those mixtures are then loaded, see {@link #findAll()}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Mixture> findPage(long after, int limit) {
+        try {
+            List<Long> ids = repository.findIdsAfter(after, PageRequest.of(0, limit + 1));
+            boolean hasNext = ids.size() > limit;
+            if (hasNext) {
+                ids = ids.subList(0, limit);
+            }
+
+            return CursorPage.<Mixture>builder()
+                    .items(loadWithIngredients(ids))
+                    .nextCursor(hasNext ? ids.get(ids.size() - 1) : null)
+                    .limit(limit)
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Failed to retrieve mixtures page after id {}", after, e);
+            throw new DatabaseFailureException("Failed to retrieve mixtures page", e);
+        }
+    }
+
+    private List<Mixture> loadWithIngredients(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return mapper.toModelList(repository.findByIdInOrderByIdAsc(ids));
+    }
+
+    /**
+     * Looks up a row by extid. A value that is not a canonical UUID cannot be
+     * stored as BINARY(16), so it is treated as not found without a query.
+     */
+    private Optional<MixtureDb> findRecord(String extid) {
+        if (!ExtidGenerator.isExtid(extid)) {
+            return Optional.empty();
+        }
+        return repository.findByExtid(extid);
+    }
 }
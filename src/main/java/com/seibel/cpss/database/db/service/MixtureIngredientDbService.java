@@ -2,6 +2,7 @@ package com.seibel.cpss.database.db.service;
 
 import com.seibel.cpss.common.domain.MixtureIngredient;
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.util.ExtidGenerator;
 import com.seibel.cpss.database.db.entity.MixtureIngredientDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
 import com.seibel.cpss.database.db.mapper.MixtureIngredientMapper;
@@ -13,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -30,7 +30,7 @@ public class MixtureIngredientDbService extends BaseDbService {
 
     @Transactional
     public MixtureIngredient create(@NonNull MixtureIngredient ingredient) {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
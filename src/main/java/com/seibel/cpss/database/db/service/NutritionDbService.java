@@ -1,20 +1,24 @@
 package com.seibel.cpss.database.db.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Nutrition;
 import com.seibel.cpss.common.enums.ActiveEnum;
-import com.seibel.cpss.common.util.CodeGenerator;
+import com.seibel.cpss.common.util.ExtidGenerator;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
 import com.seibel.cpss.database.db.entity.NutritionDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseAccessException;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.filter.ActiveRowFilter;
 import com.seibel.cpss.database.db.mapper.NutritionMapper;
 import com.seibel.cpss.database.db.repository.NutritionRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -22,15 +26,23 @@ public class NutritionDbService extends BaseDbService {
 
     private final NutritionRepository repository;
     private final NutritionMapper mapper;
+    private final CatalogCaches catalogCaches;
+    private final ActiveRowFilter activeRowFilter;
+    private final CodeAllocationService codeAllocationService;
 
-    public NutritionDbService(NutritionRepository repository, NutritionMapper mapper) {
+    public NutritionDbService(NutritionRepository repository, NutritionMapper mapper, CatalogCaches catalogCaches,
+                              ActiveRowFilter activeRowFilter, CodeAllocationService codeAllocationService) {
         super("NutritionDb");
         this.repository = repository;
         this.mapper = mapper;
+        this.catalogCaches = catalogCaches;
+        this.activeRowFilter = activeRowFilter;
+        this.codeAllocationService = codeAllocationService;
     }
 
+    @Transactional
     public Nutrition create(Nutrition item) {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
@@ -38,10 +50,7 @@ public class NutritionDbService extends BaseDbService {
 
             // Auto-generate code if not provided
             if (entity.getCode() == null || entity.getCode().trim().isEmpty()) {
-                String generatedCode = CodeGenerator.generateCode(
-                    entity.getName(),
-                    code -> repository.findByCode(code).isPresent()
-                );
+                String generatedCode = codeAllocationService.allocateNutritionCode(entity.getName());
                 entity.setCode(generatedCode);
                 log.info("Auto-generated code '{}' for nutrition '{}'", generatedCode, entity.getName());
             }
@@ -51,6 +60,7 @@ public class NutritionDbService extends BaseDbService {
             entity.setUpdatedAt(now);
             entity.setActive(ActiveEnum.ACTIVE);
             NutritionDb saved = repository.save(entity);
+            catalogCaches.invalidateAll();
             log.info(createdMessage(extid));
             return mapper.toModel(saved);
         } catch (Exception e) {
@@ -77,6 +87,7 @@ public class NutritionDbService extends BaseDbService {
             if (item.getSugar() != null) nutritionDb.setSugar(item.getSugar());
 
             NutritionDb saved = repository.save(nutritionDb);
+            catalogCaches.invalidateAll();
             log.info(updatedMessage(extid));
             return mapper.toModel(saved);
         } catch (Exception e) {
@@ -94,6 +105,7 @@ public class NutritionDbService extends BaseDbService {
             entity.setActive(ActiveEnum.INACTIVE);
             entity.setDeletedAt(now);
             repository.save(entity);
+            catalogCaches.invalidateAll();
             log.info(deletedMessage(extid));
             return true;
         } catch (Exception e) {
@@ -104,8 +116,9 @@ public class NutritionDbService extends BaseDbService {
 
     public Nutrition findByExtid(String extid) {
         try {
-            Optional<NutritionDb> db = repository.findByExtid(extid);
-            return db.map(mapper::toModel)
+            Nutrition cached = catalogCaches.nutritionByExtid()
+                    .get(extid, key -> repository.findByExtid(key).map(mapper::toModel).orElse(null));
+            return Optional.ofNullable(cached)
                     .orElseThrow(() -> new DatabaseAccessException(notFoundMessage(extid)));
         } catch (Exception e) {
             log.error(failedOperationMessage("find", extid), e);
@@ -113,9 +126,13 @@ public class NutritionDbService extends BaseDbService {
         }
     }
 
+    /**
+     * Returns all active nutrition rows; soft-deleted rows are filtered out.
+     */
+    @Transactional(readOnly = true)
     public List<Nutrition> findAll() {
-        List<Nutrition> results = mapper.toModelList(repository.findAll());
-        log.info(foundByActiveMessage("all", results.size()));
+        List<Nutrition> results = mapper.toModelList(activeRowFilter.activeOnly(repository::findAll));
+        log.info(foundByActiveMessage(ActiveEnum.ACTIVE.toString(), results.size()));
         return results;
     }
 
@@ -124,4 +141,17 @@ public class NutritionDbService extends BaseDbService {
         log.info(foundByActiveMessage(active.toString(), results.size()));
         return results;
     }
-}
\ No newline at end of file
+
+    public CursorPage<Nutrition> findPage(long after, int limit) {
+        List<NutritionDb> page = repository.findPageAfter(after, PageRequest.of(0, limit + 1));
+        boolean hasNext = page.size() > limit;
+        if (hasNext) {
+            page = page.subList(0, limit);
+        }
+        return CursorPage.<Nutrition>builder()
+                .items(mapper.toModelList(page))
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .limit(limit)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.seibel.cpss.database.db.service;
 
 import com.seibel.cpss.common.domain.PasswordResetToken;
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.util.ExtidGenerator;
 import com.seibel.cpss.database.db.entity.PasswordResetTokenDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseAccessException;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
@@ -13,7 +14,6 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -29,7 +29,7 @@ public class PasswordResetTokenDbService extends BaseDbService {
     }
 
     public PasswordResetToken create(PasswordResetToken item) {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
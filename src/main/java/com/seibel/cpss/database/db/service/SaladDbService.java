@@ -1,28 +1,33 @@
 package com.seibel.cpss.database.db.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Salad;
 import com.seibel.cpss.common.domain.SaladFoodIngredient;
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.util.ExtidGenerator;
 import com.seibel.cpss.database.db.entity.SaladDb;
-import com.seibel.cpss.database.db.entity.SaladFoodIngredientDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
 import com.seibel.cpss.database.db.mapper.SaladFoodIngredientMapper;
 import com.seibel.cpss.database.db.mapper.SaladMapper;
 import com.seibel.cpss.database.db.repository.SaladRepository;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @Service
 public class SaladDbService extends BaseDbService {
 
+    // Matches the @BatchSize on the ingredient collection so each chunk needs one secondary fetch
+    private static final int FETCH_CHUNK_SIZE = 100;
+
     private final SaladRepository repository;
     private final SaladMapper mapper;
     private final SaladFoodIngredientMapper ingredientMapper;
@@ -36,7 +41,7 @@ public class SaladDbService extends BaseDbService {
 
     @Transactional
     public Salad create(@NonNull Salad salad) {
-        String extid = UUID.randomUUID().toString();
+        String extid = ExtidGenerator.newExtid();
         LocalDateTime now = LocalDateTime.now();
 
         try {
@@ -49,19 +54,14 @@ public class SaladDbService extends BaseDbService {
 
             // Handle food ingredients
             if (salad.getFoodIngredients() != null && !salad.getFoodIngredients().isEmpty()) {
-                List<SaladFoodIngredientDb> ingredientDbs = new ArrayList<>();
                 for (SaladFoodIngredient ingredient : salad.getFoodIngredients()) {
-                    ingredient.setExtid(UUID.randomUUID().toString());
+                    ingredient.setExtid(ExtidGenerator.newExtid());
                     ingredient.setCreatedAt(now);
                     ingredient.setUpdatedAt(now);
                     ingredient.setActive(ActiveEnum.ACTIVE);
                     ingredient.setSaladId(null); // Will be set by cascade
-
-                    SaladFoodIngredientDb ingredientDb = ingredientMapper.toDb(ingredient);
-                    ingredientDb.setSalad(saladDb);
-                    ingredientDbs.add(ingredientDb);
                 }
-                saladDb.setFoodIngredients(ingredientDbs);
+                saladDb.setFoodIngredients(ingredientMapper.toDbList(salad.getFoodIngredients(), saladDb));
             }
 
             SaladDb saved = repository.save(saladDb);
@@ -77,7 +77,7 @@ public class SaladDbService extends BaseDbService {
 
     @Transactional
     public Salad update(@NonNull String extid, @NonNull Salad salad) {
-        SaladDb record = repository.findByExtid(extid).orElse(null);
+        SaladDb record = findRecord(extid).orElse(null);
         if (record == null) {
             log.warn(notFoundMessage(extid));
             return null;
@@ -89,22 +89,10 @@ public class SaladDbService extends BaseDbService {
             record.setDescription(salad.getDescription());
             record.setUpdatedAt(now);
 
-            // Handle food ingredients update - clear and replace
+            // Merge ingredients by food so unchanged rows keep their id and extid
             if (salad.getFoodIngredients() != null) {
-                record.getFoodIngredients().clear();
-
-                List<SaladFoodIngredientDb> ingredientDbs = new ArrayList<>();
-                for (SaladFoodIngredient ingredient : salad.getFoodIngredients()) {
-                    ingredient.setExtid(UUID.randomUUID().toString());
-                    ingredient.setCreatedAt(now);
-                    ingredient.setUpdatedAt(now);
-                    ingredient.setActive(ActiveEnum.ACTIVE);
-
-                    SaladFoodIngredientDb ingredientDb = ingredientMapper.toDb(ingredient);
-                    ingredientDb.setSalad(record);
-                    ingredientDbs.add(ingredientDb);
-                }
-                record.getFoodIngredients().addAll(ingredientDbs);
+                IngredientMerger.merge(record.getFoodIngredients(),
+                        ingredientMapper.toDbList(salad.getFoodIngredients(), record), now);
             }
 
             SaladDb updated = repository.save(record);
@@ -119,7 +107,7 @@ public class SaladDbService extends BaseDbService {
 
     @Transactional
     public void delete(@NonNull String extid) {
-        SaladDb record = repository.findByExtid(extid).orElse(null);
+        SaladDb record = findRecord(extid).orElse(null);
         if (record == null) {
             log.warn(notFoundMessage(extid));
             return;
@@ -139,7 +127,7 @@ public class SaladDbService extends BaseDbService {
 
     public Salad findByExtid(@NonNull String extid) {
         try {
-            return repository.findByExtid(extid)
+            return findRecord(extid)
                     .map(mapper::toModel)
                     .orElse(null);
 
@@ -149,6 +137,7 @@ public class SaladDbService extends BaseDbService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Salad> findByUserExtid(@NonNull String userExtid) {
         try {
             List<SaladDb> salads = repository.findByUserExtidAndActive(userExtid, ActiveEnum.ACTIVE);
@@ -160,14 +149,69 @@ public class SaladDbService extends BaseDbService {
         }
     }
 
+    /**
+     * Loads every salad in two phases: all ids first, then the salads in
+     * chunks by id, with ingredients, foods and nutrition batch-fetched per chunk.
+     * Each JDBC result set stays proportional to the chunk size.
+     */
+    @Transactional(readOnly = true)
     public List<Salad> findAll() {
         try {
-            List<SaladDb> all = repository.findAllWithIngredients();
-            return mapper.toModelList(all);
+            List<Long> ids = repository.findAllIds();
+            List<Salad> results = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+                int to = Math.min(from + FETCH_CHUNK_SIZE, ids.size());
+                results.addAll(loadWithIngredients(ids.subList(from, to)));
+            }
+            return results;
 
         } catch (Exception e) {
             log.error("Failed to retrieve all salads", e);
             throw new DatabaseFailureException("Failed to retrieve all salads", e);
         }
     }
+
+    /**
+     * Returns up to {@code limit} salads with an id greater than {@code after},
+     * ordered by id. The page of ids is read first (one extra to detect a next
+     * page) and only those salads are then loaded, see {@link #findAll()}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Salad> findPage(long after, int limit) {
+        try {
+            List<Long> ids = repository.findIdsAfter(after, PageRequest.of(0, limit + 1));
+            boolean hasNext = ids.size() > limit;
+            if (hasNext) {
+                ids = ids.subList(0, limit);
+            }
+
+            return CursorPage.<Salad>builder()
+                    .items(loadWithIngredients(ids))
+                    .nextCursor(hasNext ? ids.get(ids.size() - 1) : null)
+                    .limit(limit)
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Failed to retrieve salads page after id {}", after, e);
+            throw new DatabaseFailureException("Failed to retrieve salads page", e);
+        }
+    }
+
+    private List<Salad> loadWithIngredients(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return mapper.toModelList(repository.findByIdInOrderByIdAsc(ids));
+    }
+
+    /**
+     * Looks up a row by extid. A value that is not a canonical UUID cannot be
+     * stored as BINARY(16), so it is treated as not found without a query.
+     */
+    private Optional<SaladDb> findRecord(String extid) {
+        if (!ExtidGenerator.isExtid(extid)) {
+            return Optional.empty();
+        }
+        return repository.findByExtid(extid);
+    }
 }
@@ -0,0 +1,96 @@
+package com.seibel.cpss.loader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads catalog CSV files from the classpath, computing a SHA-256 content hash
+ * for each and parsing them in parallel on a bounded pool. The pool only lives
+ * for the duration of one {@link #readAll(List)} call.
+ */
+@Slf4j
+@Component
+public class CatalogFileReader {
+
+    private final int parallelism;
+
+    public CatalogFileReader(@Value("${app.loader.parallelism:4}") int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * A parsed catalog file with the hash of its raw bytes.
+     */
+    public record CatalogFile(String path, String hash, List<Map<String, String>> records) {
+    }
+
+    /**
+     * Reads, hashes and parses every file, returning them in the order given.
+     */
+    public List<CatalogFile> readAll(List<String> paths) throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.min(parallelism, Math.max(1, paths.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "catalog-reader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<CatalogFile>> futures = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                futures.add(executor.submit(() -> read(path)));
+            }
+
+            List<CatalogFile> files = new ArrayList<>(paths.size());
+            for (Future<CatalogFile> future : futures) {
+                files.add(future.get());
+            }
+            return files;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading catalog files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Failed to read catalog files", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public CatalogFile read(String path) throws IOException {
+        byte[] content;
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            content = in.readAllBytes();
+        }
+        return new CatalogFile(path, sha256(content), CsvParser.parse(path, new ByteArrayInputStream(content)));
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.seibel.cpss.loader;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Nutrition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts catalog rows in the {@code 10-food-*.csv} / {@code 40-nutrition-*.csv}
+ * column layout (column name -> raw value) into domain objects, and validates
+ * them against the column limits of the food and nutrition tables.
+ * Shared by the startup {@link DataLoader} and the catalog import endpoint.
+ */
+@Slf4j
+public final class CatalogRows {
+
+    private static final int MAX_CODE = 16;
+    private static final int MAX_NAME = 32;
+    private static final int MAX_DESCRIPTION = 255;
+    private static final int MAX_NOTES = 1000;
+
+    // NOT NULL in the nutrition table
+    private static final List<String> NUTRITION_REQUIRED_NUMBERS = List.of("carbohydrate", "fat", "protein", "sugar");
+    private static final List<String> NUTRITION_NUMBERS = List.of("fiber", "vitamin_d", "vitamin_e");
+    private static final List<String> FOOD_NUMBERS = List.of("crunch", "punch", "sweet", "savory");
+    private static final List<String> FOOD_FLAGS = List.of("foundation", "mixable");
+
+    private CatalogRows() {
+    }
+
+    public static Nutrition toNutrition(Map<String, String> record) {
+        Nutrition nutrition = new Nutrition();
+        nutrition.setCode(record.get("code"));
+        nutrition.setName(record.get("name"));
+        nutrition.setDescription(record.get("description"));
+        nutrition.setNotes(record.get("notes"));
+        nutrition.setCarbohydrate(parseInteger(record.get("carbohydrate")));
+        nutrition.setFat(parseInteger(record.get("fat")));
+        nutrition.setProtein(parseInteger(record.get("protein")));
+        nutrition.setSugar(parseInteger(record.get("sugar")));
+        nutrition.setFiber(parseInteger(record.get("fiber")));
+        nutrition.setVitaminD(parseInteger(record.get("vitamin_d")));
+        nutrition.setVitaminE(parseInteger(record.get("vitamin_e")));
+        return nutrition;
+    }
+
+    public static Food toFood(Map<String, String> record) {
+        Food food = new Food();
+        // Code will be auto-generated on insert
+        food.setName(record.get("name"));
+        food.setCategory(record.get("category"));
+        food.setSubcategory(record.get("subcategory"));
+        food.setDescription(record.get("description"));
+        food.setNotes(record.get("notes"));
+        food.setFoundation(parseBoolean(record.get("foundation")));
+        food.setMixable(parseBoolean(record.get("mixable")));
+        food.setCrunch(parseInteger(record.get("crunch")));
+        food.setPunch(parseInteger(record.get("punch")));
+        food.setSweet(parseInteger(record.get("sweet")));
+        food.setSavory(parseInteger(record.get("savory")));
+        return food;
+    }
+
+    /**
+     * @return the problems with a nutrition row, empty when it can be upserted
+     */
+    public static List<String> validateNutrition(Map<String, String> record) {
+        List<String> errors = new ArrayList<>();
+        optional(record, "code", MAX_CODE, errors);
+        required(record, "name", MAX_NAME, errors);
+        optional(record, "description", MAX_DESCRIPTION, errors);
+        optional(record, "notes", MAX_NOTES, errors);
+        NUTRITION_REQUIRED_NUMBERS.forEach(column -> requiredInteger(record, column, errors));
+        NUTRITION_NUMBERS.forEach(column -> integer(record, column, errors));
+        return errors;
+    }
+
+    /**
+     * @return the problems with a food row, empty when it can be upserted
+     */
+    public static List<String> validateFood(Map<String, String> record) {
+        List<String> errors = new ArrayList<>();
+        required(record, "name", MAX_NAME, errors);
+        required(record, "category", MAX_NAME, errors);
+        required(record, "subcategory", MAX_NAME, errors);
+        optional(record, "description", MAX_DESCRIPTION, errors);
+        optional(record, "notes", MAX_NOTES, errors);
+        FOOD_NUMBERS.forEach(column -> integer(record, column, errors));
+        FOOD_FLAGS.forEach(column -> bool(record, column, errors));
+        return errors;
+    }
+
+    public static Integer parseInteger(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Failed to parse integer: {}", value);
+            return null;
+        }
+    }
+
+    public static Boolean parseBoolean(String value) {
+        if (isBlank(value)) {
+            return false;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    private static void required(Map<String, String> record, String column, int maxLength, List<String> errors) {
+        if (isBlank(record.get(column))) {
+            errors.add(column + " is required");
+            return;
+        }
+        optional(record, column, maxLength, errors);
+    }
+
+    private static void optional(Map<String, String> record, String column, int maxLength, List<String> errors) {
+        String value = record.get(column);
+        if (value != null && value.trim().length() > maxLength) {
+            errors.add(column + " must be at most " + maxLength + " characters");
+        }
+    }
+
+    private static void requiredInteger(Map<String, String> record, String column, List<String> errors) {
+        if (isBlank(record.get(column))) {
+            errors.add(column + " is required");
+            return;
+        }
+        integer(record, column, errors);
+    }
+
+    private static void integer(Map<String, String> record, String column, List<String> errors) {
+        String value = record.get(column);
+        if (isBlank(value)) {
+            return;
+        }
+        try {
+            Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            errors.add(column + " must be a whole number");
+        }
+    }
+
+    private static void bool(Map<String, String> record, String column, List<String> errors) {
+        String value = record.get(column);
+        if (!isBlank(value) && !value.trim().equalsIgnoreCase("true") && !value.trim().equalsIgnoreCase("false")) {
+            errors.add(column + " must be true or false");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,143 @@
+package com.seibel.cpss.loader;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forward-only cursor over an RFC 4180 CSV stream whose first record is the
+ * header. Quoted fields may contain commas, doubled quotes and line breaks.
+ * Values are trimmed.
+ * <p>
+ * The cursor is a single reusable row view: {@link #next()} moves it to the
+ * following data row and the accessors read that row, so only one record is
+ * held at a time. Look a column index up once with {@link #column(String)} and
+ * read by index inside the loop to avoid per-row header lookups.
+ * Blank lines are skipped; rows whose column count differs from the header are
+ * skipped and counted in {@link #skippedRows()}.
+ */
+public class CsvCursor implements Closeable {
+
+    static final CSVFormat FORMAT = CSVFormat.RFC4180.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setTrim(true)
+            .setIgnoreEmptyLines(true)
+            .setAllowMissingColumnNames(true)
+            .build();
+
+    private final CSVParser parser;
+    private final Iterator<CSVRecord> records;
+    private final List<String> headers;
+    private final Map<String, Integer> columns;
+    private CSVRecord current;
+    private long skippedRows;
+
+    private CsvCursor(CSVParser parser) {
+        this.parser = parser;
+        this.records = parser.iterator();
+        this.headers = parser.getHeaderNames();
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            index.put(headers.get(i), i);
+        }
+        this.columns = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Opens a cursor over UTF-8 CSV content. Closing the cursor closes the stream.
+     */
+    public static CsvCursor open(InputStream input) throws IOException {
+        return new CsvCursor(CSVParser.parse(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), FORMAT));
+    }
+
+    public List<String> headers() {
+        return headers;
+    }
+
+    /**
+     * Returns the index of the named column, or -1 if the header has no such column.
+     */
+    public int column(String name) {
+        return columns.getOrDefault(name, -1);
+    }
+
+    /**
+     * Advances to the next data row.
+     *
+     * @return false when the input is exhausted
+     * @throws UncheckedIOException if the content is not valid CSV or cannot be read
+     */
+    public boolean next() {
+        while (records.hasNext()) {
+            CSVRecord record = records.next();
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue; // whitespace-only line
+            }
+            if (record.size() != headers.size()) {
+                skippedRows++;
+                continue;
+            }
+            current = record;
+            return true;
+        }
+        current = null;
+        return false;
+    }
+
+    public String get(int column) {
+        return column < 0 ? null : row().get(column);
+    }
+
+    public String get(String name) {
+        return get(column(name));
+    }
+
+    /**
+     * Line number (1-based, counting the header) where the current row ends.
+     */
+    public long lineNumber() {
+        return parser.getCurrentLineNumber();
+    }
+
+    public long skippedRows() {
+        return skippedRows;
+    }
+
+    /**
+     * Copies the current row into a new column-to-value map.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new HashMap<>(headers.size() * 4 / 3 + 1);
+        for (int i = 0; i < headers.size(); i++) {
+            map.put(headers.get(i), row().get(i));
+        }
+        return map;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private CSVRecord row() {
+        if (current == null) {
+            throw new IllegalStateException("Cursor is not positioned on a row");
+        }
+        return current;
+    }
+}
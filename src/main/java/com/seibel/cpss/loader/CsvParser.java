@@ -3,17 +3,18 @@ package com.seibel.cpss.loader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Utility class for parsing CSV files from classpath.
+ * Parsing is RFC 4180 (commons-csv) through {@link CsvCursor}; use
+ * {@link #forEach(String, InputStream, Consumer)} or a cursor directly for
+ * files too large to hold in memory.
  */
 @Slf4j
 public class CsvParser {
@@ -26,80 +27,53 @@ public class CsvParser {
      * @return List of maps, where each map represents a row with column names as keys
      */
     public static List<Map<String, String>> parse(String resourcePath) throws IOException {
-        List<Map<String, String>> records = new ArrayList<>();
         ClassPathResource resource = new ClassPathResource(resourcePath);
+        return parse(resourcePath, resource.getInputStream());
+    }
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                log.warn("Empty CSV file: {}", resourcePath);
-                return records;
-            }
-
-            String[] headers = parseCsvLine(headerLine);
-            log.debug("CSV headers for {}: {}", resourcePath, String.join(", ", headers));
-
-            String line;
-            int lineNumber = 1;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                if (line.trim().isEmpty()) {
-                    continue; // Skip empty lines
-                }
-
-                String[] values = parseCsvLine(line);
-                if (values.length != headers.length) {
-                    log.warn("Line {} in {} has {} values but expected {}. Skipping line.",
-                            lineNumber, resourcePath, values.length, headers.length);
-                    continue;
-                }
-
-                Map<String, String> record = new HashMap<>();
-                for (int i = 0; i < headers.length; i++) {
-                    record.put(headers[i], values[i]);
-                }
-                records.add(record);
-            }
-
-            log.info("Parsed {} records from {}", records.size(), resourcePath);
-        }
-
+    /**
+     * Parses CSV content from a stream. The stream is closed when parsing completes.
+     *
+     * @param resourcePath Name of the source, used for logging only
+     * @param input CSV content (UTF-8)
+     * @return List of maps, where each map represents a row with column names as keys
+     */
+    public static List<Map<String, String>> parse(String resourcePath, InputStream input) throws IOException {
+        List<Map<String, String>> records = new ArrayList<>();
+        forEach(resourcePath, input, row -> records.add(row.toMap()));
         return records;
     }
 
     /**
-     * Parses a single CSV line, handling quoted values.
-     * Simple implementation that handles basic CSV with commas and double quotes.
+     * Streams CSV content row by row. The same cursor instance is passed for every
+     * row and is only valid during the callback. The stream is closed when done.
+     *
+     * @param resourcePath Name of the source, used for logging only
+     * @param input CSV content (UTF-8)
+     * @param rowHandler Called once per data row
+     * @return Number of rows passed to the handler
      */
-    private static String[] parseCsvLine(String line) {
-        List<String> values = new ArrayList<>();
-        StringBuilder currentValue = new StringBuilder();
-        boolean inQuotes = false;
+    public static long forEach(String resourcePath, InputStream input, Consumer<CsvCursor> rowHandler)
+            throws IOException {
+        try (CsvCursor cursor = CsvCursor.open(input)) {
+            if (cursor.headers().isEmpty()) {
+                log.warn("Empty CSV file: {}", resourcePath);
+                return 0;
+            }
+            log.debug("CSV headers for {}: {}", resourcePath, String.join(", ", cursor.headers()));
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+            long rows = 0;
+            while (cursor.next()) {
+                rowHandler.accept(cursor);
+                rows++;
+            }
 
-            if (c == '"') {
-                // Handle escaped quotes ("")
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    currentValue.append('"');
-                    i++; // Skip next quote
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                values.add(currentValue.toString().trim());
-                currentValue = new StringBuilder();
-            } else {
-                currentValue.append(c);
+            if (cursor.skippedRows() > 0) {
+                log.warn("Skipped {} row(s) in {} whose column count did not match the header",
+                        cursor.skippedRows(), resourcePath);
             }
+            log.info("Parsed {} records from {}", rows, resourcePath);
+            return rows;
         }
-
-        // Add last value
-        values.add(currentValue.toString().trim());
-
-        return values.toArray(new String[0]);
     }
 }
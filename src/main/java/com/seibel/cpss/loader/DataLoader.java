@@ -14,22 +14,28 @@ import com.seibel.cpss.database.db.repository.NutritionRepository;
 import com.seibel.cpss.database.db.repository.MixtureRepository;
 import com.seibel.cpss.database.db.repository.MixtureIngredientRepository;
 import com.seibel.cpss.database.db.repository.SaladRepository;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService.UpsertResult;
 import com.seibel.cpss.database.db.service.FoodDbService;
 import com.seibel.cpss.database.db.service.NutritionDbService;
 import com.seibel.cpss.database.db.service.MixtureDbService;
 import com.seibel.cpss.database.db.service.SaladDbService;
+import com.seibel.cpss.loader.CatalogFileReader.CatalogFile;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Data loader that reads CSV files and loads data through DbService layer.
- * Runs on application startup and only loads if tables are empty.
+ * Runs on application startup. An empty database gets a full load; otherwise only
+ * catalog files whose content hash changed since the last load are reloaded.
  */
 @Slf4j
 @Component
@@ -40,6 +46,8 @@ public class DataLoader implements CommandLineRunner {
     private final NutritionDbService nutritionDbService;
     private final MixtureDbService mixtureDbService;
     private final SaladDbService saladDbService;
+    private final CatalogBulkDbService catalogBulkDbService;
+    private final CatalogFileReader catalogFileReader;
 
     // Repositories needed for linking relationships
     private final FoodRepository foodRepository;
@@ -50,6 +58,12 @@ public class DataLoader implements CommandLineRunner {
 
     private static final String DATA_PATH = "db/data/";
 
+    // Bulk mode writes each category file with batched multi-row inserts instead of row-by-row creates
+    private final boolean bulkMode;
+
+    // Incremental mode reloads changed catalog files on a non-empty database (requires bulk mode)
+    private final boolean incremental;
+
     // Category list for organizing CSV files
     private static final List<String> CATEGORIES = Arrays.asList(
             "aromatics",
@@ -73,20 +87,28 @@ public class DataLoader implements CommandLineRunner {
                       NutritionDbService nutritionDbService,
                       MixtureDbService mixtureDbService,
                       SaladDbService saladDbService,
+                      CatalogBulkDbService catalogBulkDbService,
+                      CatalogFileReader catalogFileReader,
                       FoodRepository foodRepository,
                       NutritionRepository nutritionRepository,
                       MixtureRepository mixtureRepository,
                       MixtureIngredientRepository mixtureIngredientRepository,
-                      SaladRepository saladRepository) {
+                      SaladRepository saladRepository,
+                      @Value("${app.loader.bulk:true}") boolean bulkMode,
+                      @Value("${app.loader.incremental:true}") boolean incremental) {
         this.foodDbService = foodDbService;
         this.nutritionDbService = nutritionDbService;
         this.mixtureDbService = mixtureDbService;
         this.saladDbService = saladDbService;
+        this.catalogBulkDbService = catalogBulkDbService;
+        this.catalogFileReader = catalogFileReader;
         this.foodRepository = foodRepository;
         this.nutritionRepository = nutritionRepository;
         this.mixtureRepository = mixtureRepository;
         this.mixtureIngredientRepository = mixtureIngredientRepository;
         this.saladRepository = saladRepository;
+        this.bulkMode = bulkMode;
+        this.incremental = incremental;
     }
 
     @Override
@@ -97,19 +119,32 @@ public class DataLoader implements CommandLineRunner {
             // Check if data already exists
             long foodCount = foodRepository.count();
             if (foodCount > 0) {
-                log.info("Data already loaded ({} food items exist). Skipping data load.", foodCount);
+                if (bulkMode && incremental) {
+                    reloadChangedCatalogFiles();
+                } else {
+                    log.info("Data already loaded ({} food items exist). Skipping data load.", foodCount);
+                }
                 return;
             }
 
-            log.info("No existing data found. Loading from CSV files...");
+            log.info("No existing data found. Loading from CSV files (bulk={})...", bulkMode);
+
+            // Category files are independent, so read and parse them in parallel up front
+            List<CatalogFile> nutritionFiles = catalogFileReader.readAll(nutritionPaths());
+            List<CatalogFile> foodFiles = catalogFileReader.readAll(foodPaths());
 
             // Load in order: Nutrition -> Food -> Link relationships -> Mixtures -> Salads
-            loadNutrition();
-            loadFoods();
+            loadNutrition(nutritionFiles);
+            loadFoods(foodFiles);
             linkFoodRelationships();
             loadMixtures();
             loadSalads();
 
+            if (bulkMode) {
+                recordLoadedFiles(nutritionFiles);
+                recordLoadedFiles(foodFiles);
+            }
+
             log.info("=== Data Loading Complete ===");
             logSummary();
 
@@ -119,28 +154,66 @@ public class DataLoader implements CommandLineRunner {
         }
     }
 
-    private void loadNutrition() throws IOException {
+    /**
+     * Reloads only the nutrition and food category files whose content hash differs
+     * from the one recorded at the last load, upserting rows by code/name, then
+     * re-links nutrition. Prebuilt mixtures and salads are only seeded on an empty
+     * database, since they are edited by users afterwards.
+     */
+    private void reloadChangedCatalogFiles() throws IOException {
+        Map<String, String> loadedHashes = catalogBulkDbService.findLoadedFileHashes();
+
+        List<CatalogFile> nutritionFiles = changedOnly(catalogFileReader.readAll(nutritionPaths()), loadedHashes);
+        List<CatalogFile> foodFiles = changedOnly(catalogFileReader.readAll(foodPaths()), loadedHashes);
+
+        if (nutritionFiles.isEmpty() && foodFiles.isEmpty()) {
+            log.info("Catalog files unchanged since last load. Skipping data load.");
+            return;
+        }
+
+        log.info("Reloading {} changed catalog file(s)...", nutritionFiles.size() + foodFiles.size());
+        loadNutrition(nutritionFiles);
+        loadFoods(foodFiles);
+        linkFoodRelationships();
+        recordLoadedFiles(nutritionFiles);
+        recordLoadedFiles(foodFiles);
+
+        log.info("=== Incremental Data Load Complete ===");
+        logSummary();
+    }
+
+    private List<CatalogFile> changedOnly(List<CatalogFile> files, Map<String, String> loadedHashes) {
+        return files.stream()
+                .filter(file -> !file.hash().equals(loadedHashes.get(file.path())))
+                .toList();
+    }
+
+    private void recordLoadedFiles(List<CatalogFile> files) {
+        for (CatalogFile file : files) {
+            catalogBulkDbService.recordLoadedFile(file.path(), file.hash(), file.records().size());
+        }
+    }
+
+    private List<String> nutritionPaths() {
+        return CATEGORIES.stream().map(category -> DATA_PATH + "40-nutrition-" + category + ".csv").toList();
+    }
+
+    private List<String> foodPaths() {
+        return CATEGORIES.stream().map(category -> DATA_PATH + "10-food-" + category + ".csv").toList();
+    }
+
+    private void loadNutrition(List<CatalogFile> files) {
         log.info("Loading Nutrition...");
         int count = 0;
 
-        for (String category : CATEGORIES) {
-            String filePath = DATA_PATH + "40-nutrition-" + category + ".csv";
-            List<Map<String, String>> records = CsvParser.parse(filePath);
-
-            for (Map<String, String> record : records) {
-                Nutrition nutrition = new Nutrition();
-                nutrition.setCode(record.get("code"));
-                nutrition.setName(record.get("name"));
-                nutrition.setDescription(record.get("description"));
-                nutrition.setNotes(record.get("notes"));
-                nutrition.setCarbohydrate(parseInteger(record.get("carbohydrate")));
-                nutrition.setFat(parseInteger(record.get("fat")));
-                nutrition.setProtein(parseInteger(record.get("protein")));
-                nutrition.setSugar(parseInteger(record.get("sugar")));
-                nutrition.setFiber(parseInteger(record.get("fiber")));
-                nutrition.setVitaminD(parseInteger(record.get("vitamin_d")));
-                nutrition.setVitaminE(parseInteger(record.get("vitamin_e")));
+        for (CatalogFile file : files) {
+            List<Nutrition> items = file.records().stream().map(CatalogRows::toNutrition).toList();
 
+            if (bulkMode) {
+                count += written(file, catalogBulkDbService.upsertNutrition(items));
+                continue;
+            }
+            for (Nutrition nutrition : items) {
                 nutritionDbService.create(nutrition);
                 count++;
             }
@@ -149,29 +222,18 @@ public class DataLoader implements CommandLineRunner {
         log.info("Loaded {} nutrition profiles", count);
     }
 
-    private void loadFoods() throws IOException {
+    private void loadFoods(List<CatalogFile> files) {
         log.info("Loading Foods...");
         int count = 0;
 
-        for (String category : CATEGORIES) {
-            String filePath = DATA_PATH + "10-food-" + category + ".csv";
-            List<Map<String, String>> records = CsvParser.parse(filePath);
-
-            for (Map<String, String> record : records) {
-                Food food = new Food();
-                // Code will be auto-generated by FoodDbService
-                food.setName(record.get("name"));
-                food.setCategory(record.get("category"));
-                food.setSubcategory(record.get("subcategory"));
-                food.setDescription(record.get("description"));
-                food.setNotes(record.get("notes"));
-                food.setFoundation(parseBoolean(record.get("foundation")));
-                food.setMixable(parseBoolean(record.get("mixable")));
-                food.setCrunch(parseInteger(record.get("crunch")));
-                food.setPunch(parseInteger(record.get("punch")));
-                food.setSweet(parseInteger(record.get("sweet")));
-                food.setSavory(parseInteger(record.get("savory")));
+        for (CatalogFile file : files) {
+            List<Food> items = file.records().stream().map(CatalogRows::toFood).toList();
 
+            if (bulkMode) {
+                count += written(file, catalogBulkDbService.upsertFoods(items));
+                continue;
+            }
+            for (Food food : items) {
                 foodDbService.create(food);
                 count++;
             }
@@ -180,35 +242,39 @@ public class DataLoader implements CommandLineRunner {
         log.info("Loaded {} food items", count);
     }
 
+    private static int written(CatalogFile file, UpsertResult result) {
+        result.conflicts().forEach((index, conflict) ->
+                log.warn("Skipped row {} of {}: {}", index + 1, file.path(), conflict));
+        return result.written();
+    }
+
     /**
      * Links Food entities with their corresponding Nutrition entities
-     * by matching on the 'name' field.
+     * by matching on the 'name' field. Both tables are read once into a
+     * name index and the links are written back as batched updates.
      */
     private void linkFoodRelationships() {
         log.info("Linking Food relationships...");
 
+        Map<String, NutritionDb> nutritionByName = indexByName(nutritionRepository.findAll(), NutritionDb::getName);
         List<FoodDb> allFoods = foodRepository.findAll();
-        int linkedNutrition = 0;
+        Map<Long, Long> links = new LinkedHashMap<>();
+        Set<String> unresolved = new TreeSet<>();
 
         for (FoodDb food : allFoods) {
-            boolean updated = false;
-
-            // Link Nutrition by name
-            Optional<NutritionDb> nutrition = nutritionRepository.findByName(food.getName());
-            if (nutrition.isPresent()) {
-                food.setNutrition(nutrition.get());
-                linkedNutrition++;
-                updated = true;
-            } else {
-                log.warn("No nutrition profile found for food: {}", food.getName());
+            NutritionDb nutrition = lookup(nutritionByName, food.getName());
+            if (nutrition == null) {
+                unresolved.add(food.getName());
+                continue;
             }
-
-            if (updated) {
-                foodRepository.save(food);
+            if (food.getNutrition() == null || !nutrition.getId().equals(food.getNutrition().getId())) {
+                links.put(food.getId(), nutrition.getId());
             }
         }
 
+        int linkedNutrition = catalogBulkDbService.linkFoodNutrition(links);
         log.info("Linked {} nutrition profiles to food items", linkedNutrition);
+        logUnresolved("nutrition profile for food", unresolved);
     }
 
     private void loadMixtures() throws IOException {
@@ -225,6 +291,8 @@ public class DataLoader implements CommandLineRunner {
         // Now load mixtures with their ingredients
         String mixturesPath = DATA_PATH + "50-mixture.csv";
         List<Map<String, String>> mixtureRecords = CsvParser.parse(mixturesPath);
+        Map<String, FoodDb> foodsByName = indexByName(foodRepository.findAll(), FoodDb::getName);
+        Set<String> unresolved = new TreeSet<>();
         int count = 0;
         int ingredientCount = 0;
 
@@ -243,17 +311,17 @@ public class DataLoader implements CommandLineRunner {
             if (mixtureIngredients != null) {
                 for (Map<String, String> ingredientRecord : mixtureIngredients) {
                     String foodName = ingredientRecord.get("food_name");
-                    Integer grams = parseInteger(ingredientRecord.get("grams"));
+                    Integer grams = CatalogRows.parseInteger(ingredientRecord.get("grams"));
 
-                    // Find food by name to get its extid
-                    Optional<FoodDb> foodOpt = foodRepository.findByName(foodName);
-                    if (foodOpt.isEmpty()) {
-                        log.warn("Food not found for ingredient: {}", foodName);
+                    // Resolve food by name to get its extid
+                    FoodDb food = lookup(foodsByName, foodName);
+                    if (food == null) {
+                        unresolved.add(String.valueOf(foodName));
                         continue;
                     }
 
                     MixtureIngredient ingredient = new MixtureIngredient();
-                    ingredient.setFoodExtid(foodOpt.get().getExtid());
+                    ingredient.setFoodExtid(food.getExtid());
                     ingredient.setGrams(grams);
                     // BaseDb fields will be set by the service
 
@@ -268,6 +336,7 @@ public class DataLoader implements CommandLineRunner {
         }
 
         log.info("Loaded {} prebuilt mixtures with {} ingredients", count, ingredientCount);
+        logUnresolved("food for mixture ingredient", unresolved);
     }
 
     private void loadSalads() throws IOException {
@@ -284,6 +353,8 @@ public class DataLoader implements CommandLineRunner {
         // Now load salads with their ingredients
         String saladsPath = DATA_PATH + "70-salad.csv";
         List<Map<String, String>> saladRecords = CsvParser.parse(saladsPath);
+        Map<String, FoodDb> foodsByName = indexByName(foodRepository.findAll(), FoodDb::getName);
+        Set<String> unresolved = new TreeSet<>();
         int count = 0;
         int ingredientCount = 0;
 
@@ -302,17 +373,17 @@ public class DataLoader implements CommandLineRunner {
             if (saladIngredients != null) {
                 for (Map<String, String> ingredientRecord : saladIngredients) {
                     String foodName = ingredientRecord.get("food_name");
-                    Integer grams = parseInteger(ingredientRecord.get("grams"));
+                    Integer grams = CatalogRows.parseInteger(ingredientRecord.get("grams"));
 
-                    // Find food by name to get its extid
-                    Optional<FoodDb> foodOpt = foodRepository.findByName(foodName);
-                    if (foodOpt.isEmpty()) {
-                        log.warn("Food not found for salad ingredient: {}", foodName);
+                    // Resolve food by name to get its extid
+                    FoodDb food = lookup(foodsByName, foodName);
+                    if (food == null) {
+                        unresolved.add(String.valueOf(foodName));
                         continue;
                     }
 
                     SaladFoodIngredient ingredient = new SaladFoodIngredient();
-                    ingredient.setFoodExtid(foodOpt.get().getExtid());
+                    ingredient.setFoodExtid(food.getExtid());
                     ingredient.setGrams(grams);
 
                     ingredients.add(ingredient);
@@ -326,6 +397,7 @@ public class DataLoader implements CommandLineRunner {
         }
 
         log.info("Loaded {} prebuilt salads with {} ingredients", count, ingredientCount);
+        logUnresolved("food for salad ingredient", unresolved);
     }
 
     private void logSummary() {
@@ -342,24 +414,30 @@ public class DataLoader implements CommandLineRunner {
         log.info("========================");
     }
 
-    // Utility parsing methods
+    // Name index helpers
 
-    private Integer parseInteger(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            log.warn("Failed to parse integer: {}", value);
-            return null;
+    /**
+     * Indexes entities by name, case-insensitively to match the MySQL column
+     * collation that the previous per-row findByName lookups relied on.
+     */
+    private static <T> Map<String, T> indexByName(List<T> items, Function<T, String> nameOf) {
+        Map<String, T> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (T item : items) {
+            String name = nameOf.apply(item);
+            if (name != null) {
+                index.putIfAbsent(name.trim(), item);
+            }
         }
+        return index;
+    }
+
+    private static <T> T lookup(Map<String, T> index, String name) {
+        return name == null ? null : index.get(name.trim());
     }
 
-    private Boolean parseBoolean(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return false;
+    private void logUnresolved(String what, Set<String> names) {
+        if (!names.isEmpty()) {
+            log.warn("No {} found for {} name(s): {}", what, names.size(), String.join(", ", names));
         }
-        return Boolean.parseBoolean(value.trim());
     }
 }
@@ -1,5 +1,6 @@
 package com.seibel.cpss.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,9 +8,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,7 +24,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -30,37 +32,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        VerifiedToken token = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             log.debug("JWT filter processing request with Authorization header");
-            jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
-                log.debug("JWT token parsed, username: {}", username);
-            } catch (Exception e) {
-                log.warn("Malformed JWT token in request", e);
+                token = jwtUtil.verify(authorizationHeader.substring(7));
+                log.debug("JWT token verified, username: {}", token.subject());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Invalid JWT token in request: {}", e.getMessage());
                 // Invalid token, continue without authentication
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (token != null && token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (token.role() != null && tokenVersionService.isCurrent(token)) {
+                // Built from the token's claims; the user row is not read on every request
+                UserDetails userDetails = User.withUsername(token.subject())
+                        .password("")
+                        .authorities(new SimpleGrantedAuthority("ROLE_" + token.role()))
+                        .build();
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    log.debug("JWT token validated successfully for user: {}", username);
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    log.warn("JWT token validation failed for username: {}", username);
-                }
-            } catch (UsernameNotFoundException e) {
-                log.debug("User not found during token validation for username: {}", username);
-                // User doesn't exist or token is invalid, continue without authentication
+                log.debug("JWT token validated successfully for user: {}", token.subject());
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                log.debug("JWT token for user {} is revoked or predates token versions", token.subject());
+                // Revoked token, continue without authentication
             }
         }
 
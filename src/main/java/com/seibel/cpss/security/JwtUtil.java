@@ -1,6 +1,11 @@
 package com.seibel.cpss.security;
 
+import com.seibel.cpss.common.cache.CacheStats;
+import com.seibel.cpss.common.cache.ExpiringCache;
+import com.seibel.cpss.database.db.entity.UserDb;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,53 +14,79 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once.
+ * <p>
+ * {@link #verify(String)} parses and checks a token once and returns an
+ * immutable {@link VerifiedToken}. Successful verifications are kept in a
+ * bounded LRU cache keyed by the SHA-256 digest of the token, so repeated
+ * requests with the same token skip parsing and the signature check until the
+ * token expires. Tokens that fail verification are never cached.
+ * <p>
+ * Issued tokens carry the user's role, extid and token version, so a request
+ * can be authenticated from the token alone; see {@link TokenVersionService}.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong1234567890}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final ExpiringCache<String, VerifiedToken> verifiedTokens;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
+    public JwtUtil(@Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong1234567890}") String secret,
+                   @Value("${jwt.expiration:86400000}") long expiration, // 24 hours in milliseconds
+                   @Value("${jwt.cache.max-size:10000}") int cacheMaxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        // No token outlives the expiration it was issued with, so that is the longest useful TTL
+        this.verifiedTokens = new ExpiringCache<>("verifiedTokens", cacheMaxSize, Duration.ofMillis(expiration));
+    }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies the token's signature and expiry, at most once per distinct
+     * token while it stays cached.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifiedTokens.get(digest(token), key -> parse(token));
+        if (verified.isExpired(Instant.now())) {
+            // Cached before it expired; parsing again reports the expiry
+            return parse(token);
+        }
+        return verified;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return Date.from(verify(token).expiresAt());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public <T> T extractClaim(String token, Function<Map<String, Object>, T> claimsResolver) {
+        return claimsResolver.apply(verify(token).claims());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserDb user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(VerifiedToken.ROLE, user.getRole());
+        claims.put(VerifiedToken.USER_EXTID, user.getExtid());
+        claims.put(VerifiedToken.TOKEN_VERSION, user.getTokenVersion());
+        return createToken(claims, user.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -64,12 +95,33 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return verify(token).subject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    public CacheStats cacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return VerifiedToken.of(claims);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
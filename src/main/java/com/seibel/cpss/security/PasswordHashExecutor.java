@@ -0,0 +1,107 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.common.exceptions.ServiceBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool with a bounded
+ * queue, so a burst of logins queues here instead of occupying request threads.
+ * When the queue is full the work is rejected with {@link ServiceBusyException}
+ * straight away; the caller answers 503 rather than waiting.
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // Verified against when the user does not exist, so that case costs the same as a wrong password
+    private final String unknownUserHash;
+
+    public PasswordHashExecutor(PasswordEncoder passwordEncoder,
+                                @Value("${app.auth.password-hash.threads:2}") int threads,
+                                @Value("${app.auth.password-hash.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Verifies a password against its hash. A null hash (unknown user) is
+     * verified against a throwaway hash and never matches.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                passwordEncoder.matches(rawPassword, unknownUserHash);
+                return false;
+            });
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public PasswordHashStats stats() {
+        return PasswordHashStats.builder()
+                .threads(executor.getMaximumPoolSize())
+                .active(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .maxQueued(maxQueued.get())
+                .queueCapacity(queueCapacity)
+                .completed(executor.getCompletedTaskCount())
+                .rejected(rejected.get())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Password hashing queue is full ({} waiting), rejecting request", queueCapacity);
+            return CompletableFuture.failedFuture(
+                    new ServiceBusyException("Too many concurrent sign-ins, please try again shortly", e));
+        }
+        maxQueued.accumulateAndGet(executor.getQueue().size(), Math::max);
+        return future;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.seibel.cpss.security;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Snapshot of the password hashing pool. {@code queued} is the current queue
+ * depth and {@code maxQueued} the deepest it has been since startup.
+ */
+@Data
+@Builder
+public class PasswordHashStats {
+    private int threads;
+    private int active;
+    private int queued;
+    private int maxQueued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+}
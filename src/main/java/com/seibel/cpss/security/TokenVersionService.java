@@ -0,0 +1,83 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.common.cache.CacheStats;
+import com.seibel.cpss.common.cache.ExpiringCache;
+import com.seibel.cpss.database.db.entity.UserDb;
+import com.seibel.cpss.database.db.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the current token version of each user. Every JWT carries the version
+ * it was issued with and is only accepted while that is still the user's
+ * current version, so bumping it revokes all earlier tokens.
+ * <p>
+ * Versions are cached per user extid. A bump made by this instance takes effect
+ * immediately; one made by another instance takes effect once the cached entry
+ * expires. Anything that changes a user's password or role must go through
+ * {@link #revokeTokens(UserDb)}, since the role is read from the token.
+ */
+@Slf4j
+@Service
+public class TokenVersionService {
+
+    /** Version reported for users that do not exist; no token carries it. */
+    static final int NO_USER = -1;
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, Integer> versions;
+
+    public TokenVersionService(UserRepository userRepository,
+                               @Value("${app.cache.token-version.max-size:10000}") int maxSize,
+                               @Value("${app.cache.token-version.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = new ExpiringCache<>("tokenVersions", maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public int currentVersion(String userExtid) {
+        return versions.get(userExtid,
+                extid -> userRepository.findTokenVersionByExtid(extid).orElse(NO_USER));
+    }
+
+    public boolean isCurrent(VerifiedToken token) {
+        return token.userExtid() != null
+                && token.tokenVersion() != null
+                && token.tokenVersion() == currentVersion(token.userExtid());
+    }
+
+    /**
+     * Bumps the user's token version and saves the user along with any other
+     * pending changes to it, such as a new password.
+     */
+    public UserDb revokeTokens(UserDb user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        user.setUpdatedAt(LocalDateTime.now());
+        UserDb saved = userRepository.save(user);
+        evict(user.getExtid());
+        log.info("Revoked tokens for user: {}, token version now {}", user.getExtid(), user.getTokenVersion());
+        return saved;
+    }
+
+    public CacheStats cacheStats() {
+        return versions.stats();
+    }
+
+    private void evict(String userExtid) {
+        versions.invalidate(userExtid);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A request could reload the old version before the bump commits
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.invalidate(userExtid);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.seibel.cpss.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have been verified.
+ * Instances are cached and shared between requests carrying the same token.
+ *
+ * @param claims every claim of the token, including the registered ones
+ */
+public record VerifiedToken(String subject, Instant issuedAt, Instant expiresAt, Map<String, Object> claims) {
+
+    static final String ROLE = "role";
+    static final String USER_EXTID = "uid";
+    static final String TOKEN_VERSION = "ver";
+
+    public VerifiedToken {
+        claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    static VerifiedToken of(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                claims);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    public String role() {
+        return claims.get(ROLE) instanceof String role ? role : null;
+    }
+
+    public String userExtid() {
+        return claims.get(USER_EXTID) instanceof String extid ? extid : null;
+    }
+
+    /**
+     * @return the user's token version when the token was issued, or null for
+     * tokens issued before versions were embedded
+     */
+    public Integer tokenVersion() {
+        return claims.get(TOKEN_VERSION) instanceof Number version ? version.intValue() : null;
+    }
+}
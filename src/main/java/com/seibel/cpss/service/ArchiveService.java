@@ -0,0 +1,172 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.database.db.service.ArchiveDbService;
+import com.seibel.cpss.database.db.service.ArchiveDbService.Target;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically moves soft-deleted salads and mixtures (with their ingredients)
+ * and expired password reset tokens into archive tables.
+ * <p>
+ * Work is done in chunks of {@code app.archive.batch-size} rows, each in its own
+ * short transaction, with a pause between chunks so row locks are held briefly
+ * and user traffic is not starved. A run stops after
+ * {@code app.archive.max-chunks-per-run} chunks per target; the rest is picked up
+ * by the next run. Runs requested through the API are handed to the task
+ * scheduler as well, so no request thread waits for a pass.
+ */
+@Slf4j
+@Service
+public class ArchiveService extends BaseService {
+
+    private final ArchiveDbService archiveDbService;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxChunksPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final Map<String, AtomicLong> totalArchived = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> lastRunArchived = Map.of();
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+    private volatile String lastError;
+
+    public ArchiveService(ArchiveDbService archiveDbService, TaskScheduler taskScheduler,
+                          @Value("${app.archive.enabled:true}") boolean enabled,
+                          @Value("${app.archive.retention-days:30}") int retentionDays,
+                          @Value("${app.archive.batch-size:500}") int batchSize,
+                          @Value("${app.archive.pause-ms:200}") long pauseMillis,
+                          @Value("${app.archive.max-chunks-per-run:200}") int maxChunksPerRun) {
+        super("Archive");
+        this.archiveDbService = archiveDbService;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = Math.max(0, pauseMillis);
+        this.maxChunksPerRun = Math.max(1, maxChunksPerRun);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Runs one archive pass over every target unless a pass is already running.
+     *
+     * @return the progress after the pass
+     */
+    public ArchiveStats run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Archive run already in progress, skipping");
+            return stats();
+        }
+        return runClaimed();
+    }
+
+    /**
+     * Starts an archive pass in the background unless one is already running.
+     *
+     * @return true if a pass was started, false if one was already running
+     */
+    public boolean startRun() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            taskScheduler.schedule(this::runClaimed, Instant.now());
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            throw e;
+        }
+        log.info("Archive run requested");
+        return true;
+    }
+
+    public ArchiveStats stats() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (Target target : Target.values()) {
+            totals.put(target.table(), counter(target).get());
+        }
+        return ArchiveStats.builder()
+                .running(running.get())
+                .runs(runs.get())
+                .lastRunStartedAt(lastRunStartedAt)
+                .lastRunFinishedAt(lastRunFinishedAt)
+                .lastRunArchived(lastRunArchived)
+                .totalArchived(totals)
+                .chunks(chunks.get())
+                .lastError(lastError)
+                .build();
+    }
+
+    private ArchiveStats runClaimed() {
+        lastRunStartedAt = LocalDateTime.now();
+        LocalDateTime cutoff = lastRunStartedAt.minusDays(retentionDays);
+        Map<String, Long> archived = new LinkedHashMap<>();
+        try {
+            for (Target target : Target.values()) {
+                long count = archiveTarget(target, cutoff);
+                archived.put(target.table(), count);
+            }
+            lastError = null;
+            log.info("Archive run finished: {}", archived);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastError = "interrupted";
+            log.warn("Archive run interrupted after {}", archived);
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Archive run failed after {}", archived, e);
+        } finally {
+            lastRunArchived = Map.copyOf(archived);
+            lastRunFinishedAt = LocalDateTime.now();
+            runs.incrementAndGet();
+            running.set(false);
+        }
+        return stats();
+    }
+
+    private long archiveTarget(Target target, LocalDateTime cutoff) throws InterruptedException {
+        long archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = archiveDbService.archiveChunk(target, cutoff, batchSize);
+            archived += moved;
+            counter(target).addAndGet(moved);
+            chunks.incrementAndGet();
+            if (moved < batchSize) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        return archived;
+    }
+
+    private AtomicLong counter(Target target) {
+        return totalArchived.computeIfAbsent(target.table(), key -> new AtomicLong());
+    }
+}
@@ -0,0 +1,24 @@
+package com.seibel.cpss.service;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Snapshot of the archiver's progress. Counts are parent rows per table;
+ * child ingredient rows move with their parent.
+ */
+@Data
+@Builder
+public class ArchiveStats {
+    private boolean running;
+    private long runs;
+    private LocalDateTime lastRunStartedAt;
+    private LocalDateTime lastRunFinishedAt;
+    private Map<String, Long> lastRunArchived;
+    private Map<String, Long> totalArchived;
+    private long chunks;
+    private String lastError;
+}
@@ -1,5 +1,7 @@
 package com.seibel.cpss.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
+
 public abstract class BaseService {
 
     protected String thisName;
@@ -32,4 +34,19 @@ public abstract class BaseService {
         }
     }
 
+    /**
+     * Normalizes a requested cursor page size: missing or non-positive values get
+     * the default, anything larger than the cap is clamped to it.
+     */
+    protected int capLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return CursorPage.DEFAULT_LIMIT;
+        }
+        return Math.min(limit, CursorPage.MAX_LIMIT);
+    }
+
+    protected long cursorOrStart(Long after) {
+        return after == null || after < 0 ? 0L : after;
+    }
+
 }
@@ -0,0 +1,138 @@
+package com.seibel.cpss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.seibel.cpss.database.db.service.CatalogExportDbService;
+import com.seibel.cpss.database.db.service.CatalogExportDbService.Dataset;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a catalog dataset (foods, nutrition, mixtures, salads and their
+ * ingredients) to a stream in the {@code db/data} seed file layout, as CSV or
+ * NDJSON. Rows are read a page of {@code app.catalog.export.page-size} at a
+ * time and written as they arrive; the stream is flushed after every page, so
+ * neither side buffers the whole table.
+ */
+@Slf4j
+@Service
+public class CatalogExportService extends BaseService {
+
+    private final CatalogExportDbService catalogExportDbService;
+    private final ObjectWriter rowWriter;
+    private final int pageSize;
+
+    public CatalogExportService(CatalogExportDbService catalogExportDbService, ObjectMapper objectMapper,
+                                @Value("${app.catalog.export.page-size:1000}") int pageSize) {
+        super("CatalogExport");
+        this.catalogExportDbService = catalogExportDbService;
+        this.rowWriter = objectMapper.writer();
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Writes every active row of the dataset to {@code out}. The stream is
+     * flushed but not closed.
+     *
+     * @return the number of rows written
+     */
+    public long export(Dataset dataset, CatalogFormat format, OutputStream out) throws IOException {
+        requireNonNull(dataset, "dataset");
+        requireNonNull(format, "format");
+
+        RowWriter writer = format == CatalogFormat.CSV ? new CsvRowWriter(dataset, out) : new NdjsonRowWriter(dataset, out);
+        long[] rows = {0};
+        try {
+            Long after = 0L;
+            do {
+                after = catalogExportDbService.readPage(dataset, after, pageSize, values -> {
+                    try {
+                        writer.write(values);
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } while (after != null);
+        } catch (UncheckedIOException e) {
+            log.warn("Export of {} aborted after {} rows: {}", dataset.fileName(), rows[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        log.info("Exported {} {} rows as {}", rows[0], dataset.fileName(), format);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * RFC 4180 with a header row and LF line endings, like the seed files.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final CSVPrinter printer;
+
+        CsvRowWriter(Dataset dataset, OutputStream out) throws IOException {
+            CSVFormat format = CSVFormat.RFC4180.builder()
+                    .setHeader(dataset.columns().toArray(String[]::new))
+                    .setRecordSeparator('\n')
+                    .build();
+            this.printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), format);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            printer.printRecord(values);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            printer.flush();
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private static final byte NEWLINE = '\n';
+
+        private final List<String> columns;
+        private final OutputStream out;
+
+        NdjsonRowWriter(Dataset dataset, OutputStream out) {
+            this.columns = dataset.columns();
+            this.out = out;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                row.put(columns.get(i), values[i]);
+            }
+            out.write(rowWriter.writeValueAsBytes(row));
+            out.write(NEWLINE);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
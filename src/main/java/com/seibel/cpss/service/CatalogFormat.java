@@ -0,0 +1,10 @@
+package com.seibel.cpss.service;
+
+/**
+ * Wire formats for catalog import and export: CSV in the seed file layout, or
+ * newline-delimited JSON objects keyed by the same column names.
+ */
+public enum CatalogFormat {
+    CSV,
+    NDJSON
+}
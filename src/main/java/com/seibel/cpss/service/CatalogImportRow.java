@@ -0,0 +1,19 @@
+package com.seibel.cpss.service;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of one imported catalog row. {@code row} is the 1-based data row
+ * (header excluded for CSV, blank lines excluded for NDJSON).
+ */
+@Data
+@Builder
+public class CatalogImportRow {
+    private long row;
+    private String name;
+    private CatalogImportService.RowStatus status;
+    private List<String> errors;
+}
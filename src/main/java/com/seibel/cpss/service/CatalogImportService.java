@@ -0,0 +1,247 @@
+package com.seibel.cpss.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService.UpsertResult;
+import com.seibel.cpss.loader.CatalogRows;
+import com.seibel.cpss.loader.CsvParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Imports food or nutrition rows from a client-supplied stream, in the same
+ * column layout as the {@code 10-food-*.csv} / {@code 40-nutrition-*.csv} seed
+ * files, either as CSV or as one JSON object per line.
+ * <p>
+ * Rows are read one at a time and validated as they arrive. Every
+ * {@code app.catalog.import.batch-size} rows the valid ones are upserted through
+ * {@link CatalogBulkDbService}, each chunk in its own transaction, so a bad chunk
+ * only fails its own rows and memory stays bounded by the chunk size. A row whose
+ * code belongs to a catalog row with another name is rejected on its own. The
+ * outcome of each row is handed to the caller's sink in input order once its
+ * chunk has finished. Each committed chunk marks the {@link NutrientEngine}
+ * table stale, as the single-row food and nutrition writes do.
+ */
+@Slf4j
+@Service
+public class CatalogImportService extends BaseService {
+
+    public enum Type { FOOD, NUTRITION }
+
+    public enum RowStatus { UPSERTED, REJECTED, FAILED }
+
+    private final CatalogBulkDbService catalogBulkDbService;
+    private final NutrientEngine nutrientEngine;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+
+    public CatalogImportService(CatalogBulkDbService catalogBulkDbService, NutrientEngine nutrientEngine,
+                                ObjectMapper objectMapper,
+                                @Value("${app.catalog.import.batch-size:500}") int batchSize) {
+        super("CatalogImport");
+        this.catalogBulkDbService = catalogBulkDbService;
+        this.nutrientEngine = nutrientEngine;
+        this.rowReader = objectMapper.readerForMapOf(Object.class);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Reads, validates and upserts every row of {@code input}. The stream is
+     * closed when done.
+     *
+     * @param sink receives one result per row, in input order
+     * @return totals for the import
+     */
+    public CatalogImportSummary importRows(Type type, CatalogFormat format, InputStream input,
+                                           Consumer<CatalogImportRow> sink) throws IOException {
+        requireNonNull(type, "type");
+        requireNonNull(format, "format");
+
+        ImportRun run = new ImportRun(type, sink);
+        if (format == CatalogFormat.CSV) {
+            CsvParser.forEach("catalog import (" + type + ")", input, row -> run.accept(row.toMap()));
+        } else {
+            readNdjson(input, run);
+        }
+        run.flush();
+
+        CatalogImportSummary summary = run.summary();
+        log.info("Catalog import finished: {}", summary);
+        return summary;
+    }
+
+    private void readNdjson(InputStream input, ImportRun run) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> values = rowReader.readValue(line);
+                    run.accept(asStrings(values));
+                } catch (JsonProcessingException e) {
+                    run.reject("invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> asStrings(Map<String, Object> values) {
+        Map<String, String> record = new LinkedHashMap<>();
+        values.forEach((key, value) -> record.put(key, value == null ? null : String.valueOf(value)));
+        return record;
+    }
+
+    /**
+     * State for one import: the rows of the chunk in progress and the running totals.
+     */
+    private final class ImportRun {
+
+        private final Type type;
+        private final Consumer<CatalogImportRow> sink;
+        private final List<Pending> pending = new ArrayList<>(batchSize);
+
+        private long rows;
+        private long upserted;
+        private long rejected;
+        private long failed;
+        private int chunks;
+        private int linked;
+
+        ImportRun(Type type, Consumer<CatalogImportRow> sink) {
+            this.type = type;
+            this.sink = sink;
+        }
+
+        void accept(Map<String, String> record) {
+            List<String> errors = type == Type.FOOD
+                    ? CatalogRows.validateFood(record)
+                    : CatalogRows.validateNutrition(record);
+            add(new Pending(++rows, record.get("name"), errors.isEmpty() ? record : null, errors));
+        }
+
+        void reject(String error) {
+            add(new Pending(++rows, null, null, List.of(error)));
+        }
+
+        private void add(Pending row) {
+            pending.add(row);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<Map<String, String>> valid = pending.stream()
+                    .filter(row -> row.record() != null)
+                    .map(Pending::record)
+                    .toList();
+
+            String chunkError = null;
+            Map<Integer, String> conflicts = Map.of();
+            if (!valid.isEmpty()) {
+                chunks++;
+                try {
+                    conflicts = upsert(valid).conflicts();
+                } catch (RuntimeException e) {
+                    chunkError = "chunk " + chunks + " failed: " + e.getMessage();
+                    log.error("Catalog import chunk {} ({} rows) failed", chunks, valid.size(), e);
+                }
+                if (chunkError == null) {
+                    link(valid);
+                    nutrientEngine.invalidate();
+                }
+            }
+
+            int validIndex = 0;
+            for (Pending row : pending) {
+                String conflict = row.record() == null ? null : conflicts.get(validIndex++);
+                sink.accept(toResult(row, chunkError, conflict));
+            }
+            pending.clear();
+        }
+
+        private UpsertResult upsert(List<Map<String, String>> valid) {
+            if (type == Type.FOOD) {
+                return catalogBulkDbService.upsertFoods(valid.stream().map(CatalogRows::toFood).toList());
+            }
+            return catalogBulkDbService.upsertNutrition(valid.stream().map(CatalogRows::toNutrition).toList());
+        }
+
+        // Either side of the food -> nutrition link may have just arrived, so relink by name
+        private void link(List<Map<String, String>> valid) {
+            Set<String> names = new LinkedHashSet<>();
+            valid.forEach(record -> names.add(record.get("name").trim()));
+            try {
+                linked += catalogBulkDbService.linkFoodNutritionByName(names);
+            } catch (RuntimeException e) {
+                log.warn("Catalog import chunk {} upserted but nutrition linking failed", chunks, e);
+            }
+        }
+
+        private CatalogImportRow toResult(Pending row, String chunkError, String conflict) {
+            RowStatus status;
+            List<String> errors = row.errors();
+            if (row.record() == null) {
+                status = RowStatus.REJECTED;
+                rejected++;
+            } else if (chunkError != null) {
+                status = RowStatus.FAILED;
+                errors = List.of(chunkError);
+                failed++;
+            } else if (conflict != null) {
+                status = RowStatus.REJECTED;
+                errors = List.of(conflict);
+                rejected++;
+            } else {
+                status = RowStatus.UPSERTED;
+                upserted++;
+            }
+            return CatalogImportRow.builder()
+                    .row(row.row())
+                    .name(row.name())
+                    .status(status)
+                    .errors(errors.isEmpty() ? null : errors)
+                    .build();
+        }
+
+        CatalogImportSummary summary() {
+            return CatalogImportSummary.builder()
+                    .type(type)
+                    .rows(rows)
+                    .upserted(upserted)
+                    .rejected(rejected)
+                    .failed(failed)
+                    .chunks(chunks)
+                    .linked(linked)
+                    .build();
+        }
+    }
+
+    /**
+     * A row waiting for its chunk; {@code record} is null when validation rejected it.
+     */
+    private record Pending(long row, String name, Map<String, String> record, List<String> errors) {
+    }
+}
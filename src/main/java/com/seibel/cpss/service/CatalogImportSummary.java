@@ -0,0 +1,19 @@
+package com.seibel.cpss.service;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Totals for one catalog import request.
+ */
+@Data
+@Builder
+public class CatalogImportSummary {
+    private CatalogImportService.Type type;
+    private long rows;
+    private long upserted;
+    private long rejected;
+    private long failed;
+    private int chunks;
+    private int linked;
+}
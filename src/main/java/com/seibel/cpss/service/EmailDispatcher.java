@@ -0,0 +1,220 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.database.db.service.EmailOutboxDbService;
+import com.seibel.cpss.database.db.service.EmailOutboxDbService.OutboxEmail;
+import jakarta.mail.SendFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the email outbox in the background.
+ * <p>
+ * Each batch of up to {@code app.email.outbox.batch-size} due emails is handed
+ * to the mail sender in one call, which sends them all over a single SMTP
+ * connection. Emails the server accepted are marked sent. A failed email is
+ * retried with exponential backoff starting at
+ * {@code app.email.outbox.backoff-seconds}; it is dead-lettered once it has
+ * used {@code app.email.outbox.max-attempts} attempts, or straight away when
+ * the server rejected its recipient permanently (5xx).
+ * <p>
+ * Sent and dead-lettered emails are deleted once they are older than
+ * {@code app.email.outbox.retention-days}; their bodies carry password reset
+ * links in plain text.
+ */
+@Slf4j
+@Service
+public class EmailDispatcher extends BaseService {
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final JavaMailSender mailSender;
+    private final EmailOutboxDbService outboxDbService;
+    private final String emailFrom;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public EmailDispatcher(JavaMailSender mailSender,
+                           EmailOutboxDbService outboxDbService,
+                           @Value("${app.email.from:noreply@cpss.com}") String emailFrom,
+                           @Value("${app.email.outbox.enabled:true}") boolean enabled,
+                           @Value("${app.email.outbox.batch-size:50}") int batchSize,
+                           @Value("${app.email.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                           @Value("${app.email.outbox.max-attempts:6}") int maxAttempts,
+                           @Value("${app.email.outbox.backoff-seconds:30}") long backoffSeconds,
+                           @Value("${app.email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                           @Value("${app.email.outbox.lease-seconds:300}") long leaseSeconds,
+                           @Value("${app.email.outbox.retention-days:7}") long retentionDays) {
+        super("EmailDispatch");
+        this.mailSender = mailSender;
+        this.outboxDbService = outboxDbService;
+        this.emailFrom = emailFrom;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = Duration.ofSeconds(Math.max(1, backoffSeconds));
+        this.maxBackoff = Duration.ofSeconds(Math.max(backoffSeconds, maxBackoffSeconds));
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-ms:5000}")
+    public void scheduledRun() {
+        if (enabled) {
+            dispatch();
+        }
+    }
+
+    @Scheduled(cron = "${app.email.outbox.purge-cron:0 0 4 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * Sends due emails batch by batch until the outbox has no more due emails or
+     * {@code app.email.outbox.max-batches-per-run} batches were sent.
+     *
+     * @return the number of emails sent
+     */
+    public int dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        int sent = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                LocalDateTime now = LocalDateTime.now();
+                List<OutboxEmail> batch = outboxDbService.claimBatch(now, batchSize, now.plus(lease));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                sent += sendBatch(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Claimed rows are picked up again once their lease runs out
+            log.error("Email outbox dispatch failed after sending {} email(s)", sent, e);
+        } finally {
+            running.set(false);
+        }
+        return sent;
+    }
+
+    /**
+     * Deletes sent and dead-lettered emails older than the retention period, in
+     * batches of {@value #PURGE_BATCH_SIZE} rows so no delete holds locks for long.
+     *
+     * @return the number of emails deleted
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = outboxDbService.purgeFinished(cutoff, PURGE_BATCH_SIZE);
+                deleted += batch;
+            } while (batch == PURGE_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.error("Email outbox purge failed after deleting {} email(s)", deleted, e);
+        }
+        if (deleted > 0) {
+            log.info("Email outbox purge: deleted {} email(s) finished before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private int sendBatch(List<OutboxEmail> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(this::toMessage).toArray(SimpleMailMessage[]::new);
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            // Messages missing from the map were accepted by the server
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            // Nothing was sent, e.g. the server refused to authenticate us
+            failures = new HashMap<>();
+            for (SimpleMailMessage message : messages) {
+                failures.put(message, e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> sentEmails = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                sentEmails.add(batch.get(i));
+            } else {
+                recordFailure(batch.get(i), failure, now);
+            }
+        }
+        if (!sentEmails.isEmpty()) {
+            outboxDbService.markSent(sentEmails, now);
+        }
+        log.info("Email outbox batch: {} sent, {} failed", sentEmails.size(), batch.size() - sentEmails.size());
+        return sentEmails.size();
+    }
+
+    private void recordFailure(OutboxEmail email, Exception failure, LocalDateTime now) {
+        int attempts = email.attempts() + 1;
+        String error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        if (attempts >= maxAttempts || isPermanent(failure)) {
+            log.error("Dead-lettering email {} to {} after {} attempt(s): {}", email.id(), email.recipient(), attempts, error);
+            outboxDbService.markDead(email.id(), attempts, error);
+            return;
+        }
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}",
+                email.id(), email.recipient(), attempts, delay.toSeconds(), error);
+        outboxDbService.markRetry(email.id(), attempts, now.plus(delay), error);
+    }
+
+    // The server rejected a recipient with a 5xx reply; sending again will not help
+    private static boolean isPermanent(Exception failure) {
+        return failure instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null
+                && sendFailed.getInvalidAddresses().length > 0;
+    }
+
+    private SimpleMailMessage toMessage(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(emailFrom);
+        message.setTo(email.recipient());
+        message.setSubject(email.subject());
+        message.setText(email.body());
+        return message;
+    }
+}
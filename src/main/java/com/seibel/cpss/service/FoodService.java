@@ -1,5 +1,6 @@
 package com.seibel.cpss.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
@@ -14,29 +15,37 @@ import java.util.List;
 public class FoodService extends BaseService {
 
     private final FoodDbService dbService;
+    private final NutrientEngine nutrientEngine;
 
-    public FoodService(FoodDbService dbService) {
+    public FoodService(FoodDbService dbService, NutrientEngine nutrientEngine) {
         super(Food.class.getSimpleName());
         this.dbService = dbService;
+        this.nutrientEngine = nutrientEngine;
     }
 
     public Food create(Food item) throws DatabaseFailureException {
         requireNonNull(item, "Food");
         log.info("Creating Food: {}", item);
-        return dbService.create(item);
+        Food created = dbService.create(item);
+        nutrientEngine.invalidate();
+        return created;
     }
 
     public Food update(String extid, Food item) throws DatabaseFailureException {
         requireNonBlank(extid, "extid");
         requireNonNull(item, "Food");
         log.info("Updating Food: {}", extid);
-        return dbService.update(extid, item);
+        Food updated = dbService.update(extid, item);
+        nutrientEngine.invalidate();
+        return updated;
     }
 
     public boolean delete(String extid) throws DatabaseFailureException {
         requireNonBlank(extid, "extid");
         log.info("Deleting Food: {}", extid);
-        return dbService.delete(extid);
+        boolean deleted = dbService.delete(extid);
+        nutrientEngine.invalidate();
+        return deleted;
     }
 
     public Food findByExtid(String extid) throws DatabaseFailureException {
@@ -48,6 +57,10 @@ public class FoodService extends BaseService {
         return dbService.findAll();
     }
 
+    public CursorPage<Food> findPage(Long after, Integer limit) {
+        return dbService.findPage(cursorOrStart(after), capLimit(limit));
+    }
+
     public List<Food> findByActive(ActiveEnum active) {
         requireNonNull(active, "active");
         return dbService.findByActive(active);
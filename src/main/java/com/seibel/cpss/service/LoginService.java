@@ -0,0 +1,51 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.database.db.entity.UserDb;
+import com.seibel.cpss.database.db.repository.UserRepository;
+import com.seibel.cpss.security.PasswordHashExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Password login. The user row is read once on the calling thread; the BCrypt
+ * check runs on the {@link PasswordHashExecutor} pool and the returned future
+ * completes there with that same row, which carries everything needed for the
+ * token and the profile in the response.
+ */
+@Slf4j
+@Service
+public class LoginService extends BaseService {
+
+    private final UserRepository userRepository;
+    private final PasswordHashExecutor passwordHashExecutor;
+
+    public LoginService(UserRepository userRepository, PasswordHashExecutor passwordHashExecutor) {
+        super("Login");
+        this.userRepository = userRepository;
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    /**
+     * @return a future completing with the user, or exceptionally with
+     * {@link BadCredentialsException} for an unknown user or wrong password and
+     * with {@link com.seibel.cpss.common.exceptions.ServiceBusyException} when
+     * the hashing pool is saturated
+     */
+    public CompletableFuture<UserDb> login(String username, String password) {
+        requireNonBlank(username, "username");
+        requireNonNull(password, "password");
+
+        Optional<UserDb> user = userRepository.findByUsername(username);
+        return passwordHashExecutor.matches(password, user.map(UserDb::getPassword).orElse(null))
+                .thenApply(matches -> {
+                    if (!matches || user.isEmpty()) {
+                        throw new BadCredentialsException("Invalid username or password");
+                    }
+                    return user.get();
+                });
+    }
+}
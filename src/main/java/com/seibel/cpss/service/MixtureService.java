@@ -1,6 +1,7 @@
 package com.seibel.cpss.service;
 
 import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Mixture;
 import com.seibel.cpss.common.domain.MixtureIngredient;
 import com.seibel.cpss.common.exceptions.ResourceNotFoundException;
@@ -12,7 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -119,30 +124,75 @@ public class MixtureService extends BaseService {
         }
     }
 
+    public CursorPage<Mixture> findPage(Long after, Integer limit) {
+        long cursor = cursorOrStart(after);
+        int size = capLimit(limit);
+        log.debug("findPage(): after={}, limit={}", cursor, size);
+
+        try {
+            return dbService.findPage(cursor, size);
+        } catch (DatabaseFailureException e) {
+            log.error("Failed to retrieve mixtures page after id {}", cursor, e);
+            throw new ServiceException("Unable to retrieve mixtures", e);
+        }
+    }
+
+    /**
+     * Validates all mixture ingredients against the catalog in one pass.
+     * Referenced foods are fetched with a single query and every problem found
+     * is reported together in one ValidationException.
+     *
+     * @param mixture the mixture to validate
+     * @throws ValidationException if any ingredient is invalid
+     */
     private void validateIngredients(Mixture mixture) {
         if (mixture.getIngredients() == null || mixture.getIngredients().isEmpty()) {
             throw new ValidationException("Mixture must have at least one ingredient");
         }
 
+        // Collect all food extids that need to be fetched
+        List<String> foodExtids = mixture.getIngredients().stream()
+                .map(MixtureIngredient::getFoodExtid)
+                .filter(extid -> extid != null && !extid.isBlank())
+                .distinct()
+                .toList();
+
+        // Fetch all foods in a single query to avoid N+1
+        Map<String, Food> foodsByExtid = Map.of();
+        if (!foodExtids.isEmpty()) {
+            try {
+                foodsByExtid = foodService.findByExtidIn(foodExtids).stream()
+                        .collect(Collectors.toMap(Food::getExtid, Function.identity(), (a, b) -> a));
+            } catch (DatabaseFailureException e) {
+                log.error("Failed to lookup foods for mixture validation", e);
+                throw new ServiceException("Unable to validate mixture ingredients", e);
+            }
+        }
+
+        List<String> errors = new ArrayList<>();
+        int position = 0;
         for (MixtureIngredient ingredient : mixture.getIngredients()) {
+            position++;
+            String prefix = "Ingredient " + position + ": ";
+
             if (ingredient.getFoodExtid() == null || ingredient.getFoodExtid().isBlank()) {
-                throw new ValidationException("Ingredient must have a food extid");
+                errors.add(prefix + "must have a food extid");
+            } else {
+                Food food = foodsByExtid.get(ingredient.getFoodExtid());
+                if (food == null) {
+                    errors.add(prefix + "food not found: " + ingredient.getFoodExtid());
+                } else if (!Boolean.TRUE.equals(food.getMixable())) {
+                    errors.add(prefix + "food is not mixable: " + food.getName());
+                }
             }
 
-            // Validate grams
             if (ingredient.getGrams() == null || ingredient.getGrams() <= 0) {
-                throw new ValidationException("Ingredient grams must be greater than 0");
-            }
-
-            // Verify the food exists and is mixable
-            Food food = foodService.findByExtid(ingredient.getFoodExtid());
-            if (food == null) {
-                throw new ValidationException("Food not found: " + ingredient.getFoodExtid());
+                errors.add(prefix + "grams must be greater than 0");
             }
+        }
 
-            if (!food.getMixable()) {
-                throw new ValidationException("Food is not mixable: " + food.getName());
-            }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Invalid mixture ingredients: " + String.join("; ", errors));
         }
     }
 }
@@ -0,0 +1,141 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.database.db.service.FoodDbService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds a compact, primitive per-100g nutrient table for the whole food catalog.
+ * Salad and mixture totals are computed as a dot product over (food slot, grams)
+ * pairs against this table instead of walking boxed getters on every request.
+ * <p>
+ * The table is built at startup and rebuilt lazily after {@link #invalidate()}
+ * is called by the food and nutrition write paths.
+ */
+@Slf4j
+@Service
+public class NutrientEngine {
+
+    public static final int CARBOHYDRATE = 0;
+    public static final int FAT = 1;
+    public static final int PROTEIN = 2;
+    public static final int SUGAR = 3;
+    public static final int FIBER = 4;
+    public static final int VITAMIN_D = 5;
+    public static final int VITAMIN_E = 6;
+    public static final int NUTRIENT_COUNT = 7;
+
+    private final FoodDbService foodDbService;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private volatile Table table = Table.EMPTY;
+    private volatile long builtVersion = -1;
+
+    public NutrientEngine(FoodDbService foodDbService) {
+        this.foodDbService = foodDbService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Marks the table as stale. The next call to {@link #newTotals()} rebuilds it.
+     */
+    public void invalidate() {
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds the nutrient table from the current food catalog.
+     */
+    public synchronized void refresh() {
+        long version = catalogVersion.get();
+        List<Food> foods = foodDbService.findAll();
+        table = Table.build(foods);
+        builtVersion = version;
+        log.info("Nutrient table built for {} foods (catalog version {})", foods.size(), version);
+    }
+
+    /**
+     * Starts a new accumulator bound to the current table snapshot.
+     */
+    public NutrientTotals newTotals() {
+        return new NutrientTotals(currentTable());
+    }
+
+    private Table currentTable() {
+        if (builtVersion != catalogVersion.get()) {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // Fall back to the previous snapshot; unindexed foods use their own nutrition
+                log.warn("Failed to rebuild nutrient table, using previous snapshot", e);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Immutable snapshot: extid -> slot, and a flat per-100g array with
+     * {@link #NUTRIENT_COUNT} entries per slot.
+     */
+    static final class Table {
+
+        static final Table EMPTY = new Table(Map.of(), new int[0]);
+
+        private final Map<String, Integer> slots;
+        final int[] per100g;
+
+        private Table(Map<String, Integer> slots, int[] per100g) {
+            this.slots = slots;
+            this.per100g = per100g;
+        }
+
+        int slotOf(String foodExtid) {
+            Integer slot = slots.get(foodExtid);
+            return slot != null ? slot : -1;
+        }
+
+        static Table build(List<Food> foods) {
+            Map<String, Integer> slots = new HashMap<>(foods.size() * 2);
+            int[] values = new int[foods.size() * NUTRIENT_COUNT];
+            int slot = 0;
+
+            for (Food food : foods) {
+                if (food.getExtid() == null) {
+                    continue;
+                }
+                Nutrition nutrition = food.getNutrition();
+                if (nutrition != null) {
+                    int base = slot * NUTRIENT_COUNT;
+                    values[base + CARBOHYDRATE] = valueOf(nutrition.getCarbohydrate());
+                    values[base + FAT] = valueOf(nutrition.getFat());
+                    values[base + PROTEIN] = valueOf(nutrition.getProtein());
+                    values[base + SUGAR] = valueOf(nutrition.getSugar());
+                    values[base + FIBER] = valueOf(nutrition.getFiber());
+                    values[base + VITAMIN_D] = valueOf(nutrition.getVitaminD());
+                    values[base + VITAMIN_E] = valueOf(nutrition.getVitaminE());
+                }
+                slots.put(food.getExtid(), slot);
+                slot++;
+            }
+
+            return new Table(Map.copyOf(slots), values);
+        }
+
+        private static int valueOf(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Nutrition;
+
+import static com.seibel.cpss.service.NutrientEngine.*;
+
+/**
+ * Accumulates nutrient totals for a list of ingredients.
+ * <p>
+ * Sums are kept exactly as (per-100g value * grams) and divided by 100 only once,
+ * with half-up rounding, so totals no longer drift from per-ingredient truncation.
+ * Not thread-safe; create one per salad or mixture via {@link NutrientEngine#newTotals()}.
+ */
+public final class NutrientTotals {
+
+    private final NutrientEngine.Table table;
+    private final long[] scaled = new long[NUTRIENT_COUNT];
+
+    NutrientTotals(NutrientEngine.Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Adds one ingredient. Foods present in the engine table are resolved by extid;
+     * any other food falls back to the nutrition carried on the domain object.
+     */
+    public void add(String foodExtid, Food food, Integer grams) {
+        if (grams == null || grams == 0) {
+            return;
+        }
+
+        int slot = foodExtid != null ? table.slotOf(foodExtid) : -1;
+        if (slot < 0 && food != null && food.getExtid() != null) {
+            slot = table.slotOf(food.getExtid());
+        }
+
+        if (slot >= 0) {
+            int[] per100g = table.per100g;
+            int base = slot * NUTRIENT_COUNT;
+            for (int i = 0; i < NUTRIENT_COUNT; i++) {
+                scaled[i] += (long) per100g[base + i] * grams;
+            }
+        } else if (food != null && food.getNutrition() != null) {
+            addUnindexed(food.getNutrition(), grams);
+        }
+    }
+
+    public int get(int nutrient) {
+        return roundPer100g(scaled[nutrient]);
+    }
+
+    /**
+     * Calories from macros (4 cal/g for carbs and protein, 9 cal/g for fat), computed
+     * from the unrounded sums.
+     */
+    public int calories() {
+        return roundPer100g(4 * scaled[CARBOHYDRATE] + 4 * scaled[PROTEIN] + 9 * scaled[FAT]);
+    }
+
+    private void addUnindexed(Nutrition nutrition, int grams) {
+        scaled[CARBOHYDRATE] += scale(nutrition.getCarbohydrate(), grams);
+        scaled[FAT] += scale(nutrition.getFat(), grams);
+        scaled[PROTEIN] += scale(nutrition.getProtein(), grams);
+        scaled[SUGAR] += scale(nutrition.getSugar(), grams);
+        scaled[FIBER] += scale(nutrition.getFiber(), grams);
+        scaled[VITAMIN_D] += scale(nutrition.getVitaminD(), grams);
+        scaled[VITAMIN_E] += scale(nutrition.getVitaminE(), grams);
+    }
+
+    private static long scale(Integer nutrientPer100g, int grams) {
+        return nutrientPer100g != null ? (long) nutrientPer100g * grams : 0L;
+    }
+
+    private static int roundPer100g(long value) {
+        return (int) Math.floorDiv(value + 50, 100);
+    }
+}
@@ -1,5 +1,6 @@
 package com.seibel.cpss.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Nutrition;
 import com.seibel.cpss.common.enums.ActiveEnum;
 import com.seibel.cpss.database.db.service.NutritionDbService;
@@ -13,30 +14,38 @@ import java.util.List;
 public class NutritionService extends BaseService {
 
     private final NutritionDbService dbService;
+    private final NutrientEngine nutrientEngine;
     private final String thisName = "Nutrition";
 
-    public NutritionService(NutritionDbService dbService) {
+    public NutritionService(NutritionDbService dbService, NutrientEngine nutrientEngine) {
         super(Nutrition.class.getSimpleName());
         this.dbService = dbService;
+        this.nutrientEngine = nutrientEngine;
     }
 
     public Nutrition create(Nutrition item) {
         requireNonNull(item, thisName);
         log.info("Creating {}", thisName);
-        return dbService.create(item);
+        Nutrition created = dbService.create(item);
+        nutrientEngine.invalidate();
+        return created;
     }
 
     public Nutrition update(String extid, Nutrition item) {
         requireNonBlank(extid, "extid");
         requireNonNull(item, thisName);
         log.info("Updating {} {}", thisName, extid);
-        return dbService.update(extid, item);
+        Nutrition updated = dbService.update(extid, item);
+        nutrientEngine.invalidate();
+        return updated;
     }
 
     public boolean delete(String extid) {
         requireNonBlank(extid, "extid");
         log.info("Deleting {} {}", thisName, extid);
-        return dbService.delete(extid);
+        boolean deleted = dbService.delete(extid);
+        nutrientEngine.invalidate();
+        return deleted;
     }
 
     public Nutrition findByExtid(String extid) {
@@ -48,6 +57,10 @@ public class NutritionService extends BaseService {
         return dbService.findAll();
     }
 
+    public CursorPage<Nutrition> findPage(Long after, Integer limit) {
+        return dbService.findPage(cursorOrStart(after), capLimit(limit));
+    }
+
     public List<Nutrition> findByActive(ActiveEnum activeEnum) {
         requireNonNull(activeEnum, "activeEnum");
         return dbService.findByActive(activeEnum);
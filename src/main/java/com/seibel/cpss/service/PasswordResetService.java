@@ -4,11 +4,12 @@ import com.seibel.cpss.common.domain.PasswordResetToken;
 import com.seibel.cpss.database.db.entity.UserDb;
 import com.seibel.cpss.database.db.repository.UserRepository;
 import com.seibel.cpss.database.db.service.PasswordResetTokenDbService;
+import com.seibel.cpss.security.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -21,7 +22,7 @@ public class PasswordResetService {
     private final PasswordResetTokenDbService tokenDbService;
     private final UserRepository userRepository;
     private final EmailService emailService;
-    private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
 
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
@@ -87,9 +88,16 @@ public class PasswordResetService {
         }
     }
 
-    public void resetPassword(String token, String newPassword) {
+    /**
+     * Sets an already hashed password and spends the token, in one transaction:
+     * the password, the revoked tokens and the used reset token commit together
+     * or not at all. Hashing is left to the caller so it can run on the
+     * {@link com.seibel.cpss.security.PasswordHashExecutor} pool.
+     */
+    @Transactional
+    public void completeReset(String token, String encodedPassword) {
         try {
-            // Validate token first
+            // Validate again, another reset may have used the token while the password was hashed
             validateResetToken(token);
 
             // Get the token and user
@@ -100,11 +108,10 @@ public class PasswordResetService {
                 throw new RuntimeException("User not found");
             }
 
-            // Update user password
+            // Update user password and revoke every token issued with the old one
             UserDb userDb = user.get();
-            userDb.setPassword(passwordEncoder.encode(newPassword));
-            userDb.setUpdatedAt(LocalDateTime.now());
-            userRepository.save(userDb);
+            userDb.setPassword(encodedPassword);
+            tokenVersionService.revokeTokens(userDb);
 
             // Mark token as used
             tokenDbService.markAsUsed(token);
@@ -1,6 +1,7 @@
 package com.seibel.cpss.service;
 
 import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Salad;
 import com.seibel.cpss.common.domain.SaladFoodIngredient;
 import com.seibel.cpss.common.exceptions.ResourceNotFoundException;
@@ -116,6 +117,19 @@ public class SaladService extends BaseService {
         }
     }
 
+    public CursorPage<Salad> findPage(Long after, Integer limit) {
+        long cursor = cursorOrStart(after);
+        int size = capLimit(limit);
+        log.debug("findPage(): after={}, limit={}", cursor, size);
+
+        try {
+            return dbService.findPage(cursor, size);
+        } catch (DatabaseFailureException e) {
+            log.error("Failed to retrieve salads page after id {}", cursor, e);
+            throw new ServiceException("Unable to retrieve salads", e);
+        }
+    }
+
     /**
      * Validates that a salad has at least 1 foundation ingredient.
      * Foundation ingredients are those with foundation=true.
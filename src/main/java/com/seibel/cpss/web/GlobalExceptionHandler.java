@@ -2,6 +2,7 @@ package com.seibel.cpss.web;
 
 import com.seibel.cpss.common.exceptions.ResourceAlreadyExistsException;
 import com.seibel.cpss.common.exceptions.ResourceNotFoundException;
+import com.seibel.cpss.common.exceptions.ServiceBusyException;
 import com.seibel.cpss.common.exceptions.ServiceException;
 import com.seibel.cpss.common.exceptions.ValidationException;
 import com.seibel.cpss.web.response.ErrorResponse;
@@ -52,6 +53,11 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.CONFLICT, ex.getMessage(), req, null);
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleBusy(ServiceBusyException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req, null);
+    }
+
     @ExceptionHandler(ServiceException.class)
     public ResponseEntity<ErrorResponse> handleService(ServiceException ex, HttpServletRequest req) {
         return build(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), req, null);
@@ -0,0 +1,52 @@
+package com.seibel.cpss.web.controller;
+
+import com.seibel.cpss.service.ArchiveService;
+import com.seibel.cpss.service.ArchiveStats;
+import com.seibel.cpss.web.response.ResponseArchiveStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive")
+@Validated
+@Tag(name = "Archive", description = "Archival of soft-deleted and expired rows")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Archiver progress")
+    public ResponseArchiveStats getStats() {
+        return toResponse(archiveService.stats());
+    }
+
+    @PostMapping("/run")
+    @Operation(summary = "Start an archive pass in the background",
+            description = "Answers 202 when a pass was started and 409 when one is already running")
+    public ResponseEntity<ResponseArchiveStats> run() {
+        HttpStatus status = archiveService.startRun() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(toResponse(archiveService.stats()));
+    }
+
+    private ResponseArchiveStats toResponse(ArchiveStats stats) {
+        return ResponseArchiveStats.builder()
+                .running(stats.isRunning())
+                .runs(stats.getRuns())
+                .lastRunStartedAt(stats.getLastRunStartedAt())
+                .lastRunFinishedAt(stats.getLastRunFinishedAt())
+                .lastRunArchived(stats.getLastRunArchived())
+                .totalArchived(stats.getTotalArchived())
+                .chunks(stats.getChunks())
+                .lastError(stats.getLastError())
+                .build();
+    }
+}
@@ -1,10 +1,15 @@
 package com.seibel.cpss.web.controller;
 
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.common.exceptions.ServiceBusyException;
+import com.seibel.cpss.common.util.ExtidGenerator;
 import com.seibel.cpss.database.db.entity.UserDb;
 import com.seibel.cpss.database.db.repository.UserRepository;
 import com.seibel.cpss.security.JwtUtil;
+import com.seibel.cpss.security.PasswordHashExecutor;
+import com.seibel.cpss.security.PasswordHashStats;
 import com.seibel.cpss.service.EmailService;
+import com.seibel.cpss.service.LoginService;
 import com.seibel.cpss.service.PasswordResetService;
 import com.seibel.cpss.web.request.RequestForgotPassword;
 import com.seibel.cpss.web.request.RequestForgotUsername;
@@ -13,24 +18,24 @@ import com.seibel.cpss.web.request.RequestRegister;
 import com.seibel.cpss.web.request.RequestResetPassword;
 import com.seibel.cpss.web.response.ResponseAuth;
 import com.seibel.cpss.web.response.ResponseMessage;
+import com.seibel.cpss.web.response.ResponsePasswordHashStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @RestController
@@ -40,74 +45,92 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final LoginService loginService;
+    private final PasswordHashExecutor passwordHashExecutor;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
     private final PasswordResetService passwordResetService;
     private final EmailService emailService;
 
+    // Runs the database work after hashing, so it never holds a password hash thread
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private final Executor taskExecutor;
+
     @PostMapping("/login")
     @Operation(summary = "Login with username and password")
-    public ResponseEntity<?> login(@Valid @RequestBody RequestLogin request) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody RequestLogin request) {
         log.info("Login attempt for username: {}", request.getUsername());
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-        } catch (BadCredentialsException e) {
-            log.warn("Login failed for username: {} - Invalid credentials", request.getUsername());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
-        }
-
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        final String token = jwtUtil.generateToken(userDetails);
-
-        UserDb user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        log.info("Login successful for username: {}, token generated", request.getUsername());
+        return loginService.login(request.getUsername(), request.getPassword())
+                .<ResponseEntity<?>>thenApply(user -> {
+                    final String token = jwtUtil.generateToken(user);
+                    log.info("Login successful for username: {}, token generated", request.getUsername());
+
+                    ResponseAuth response = ResponseAuth.builder()
+                            .token(token)
+                            .username(user.getUsername())
+                            .email(user.getEmail())
+                            .role(user.getRole())
+                            .build();
+
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(ex -> {
+                    if (ex.getCause() instanceof BadCredentialsException) {
+                        log.warn("Login failed for username: {} - Invalid credentials", request.getUsername());
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
+                    }
+                    // Busy pool and unexpected errors go to the exception handler
+                    throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+                });
+    }
 
-        ResponseAuth response = ResponseAuth.builder()
-                .token(token)
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole())
+    @GetMapping("/password-hash/stats")
+    @Operation(summary = "Password hashing pool usage and queue depth")
+    public ResponsePasswordHashStats getPasswordHashStats() {
+        PasswordHashStats stats = passwordHashExecutor.stats();
+        return ResponsePasswordHashStats.builder()
+                .threads(stats.getThreads())
+                .active(stats.getActive())
+                .queued(stats.getQueued())
+                .maxQueued(stats.getMaxQueued())
+                .queueCapacity(stats.getQueueCapacity())
+                .completed(stats.getCompleted())
+                .rejected(stats.getRejected())
                 .build();
-
-        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
-    public ResponseEntity<?> register(@Valid @RequestBody RequestRegister request) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RequestRegister request) {
         if (userRepository.existsByUsername(request.getUsername())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists"));
         }
 
-        UserDb user = new UserDb();
-        user.setExtid(UUID.randomUUID().toString());
-        user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setEmail(request.getEmail());
-        user.setRole("USER");
-        user.setActive(ActiveEnum.ACTIVE);
-        user.setCreatedAt(LocalDateTime.now());
-
-        userRepository.save(user);
-
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        final String token = jwtUtil.generateToken(userDetails);
-
-        ResponseAuth response = ResponseAuth.builder()
-                .token(token)
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .build();
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        // Hashed on the password hash pool; a full queue goes to the exception handler as 503
+        return passwordHashExecutor.encode(request.getPassword()).thenApplyAsync(encodedPassword -> {
+            UserDb user = new UserDb();
+            user.setExtid(ExtidGenerator.newExtid());
+            user.setUsername(request.getUsername());
+            user.setPassword(encodedPassword);
+            user.setEmail(request.getEmail());
+            user.setRole("USER");
+            user.setActive(ActiveEnum.ACTIVE);
+            user.setCreatedAt(LocalDateTime.now());
+
+            userRepository.save(user);
+
+            final String token = jwtUtil.generateToken(user);
+
+            ResponseAuth response = ResponseAuth.builder()
+                    .token(token)
+                    .username(user.getUsername())
+                    .email(user.getEmail())
+                    .role(user.getRole())
+                    .build();
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }, taskExecutor);
     }
 
     @PostMapping("/forgot-username")
@@ -153,19 +176,35 @@ public class AuthController {
 
     @PostMapping("/reset-password")
     @Operation(summary = "Reset password using token")
-    public ResponseEntity<?> resetPassword(@Valid @RequestBody RequestResetPassword request) {
+    public CompletableFuture<ResponseEntity<?>> resetPassword(@Valid @RequestBody RequestResetPassword request) {
         log.info("Reset password request received with token: {}", request.getToken());
+        CompletableFuture<Void> reset;
         try {
-            passwordResetService.resetPassword(request.getToken(), request.getNewPassword());
-            log.info("Password reset successful for token: {}", request.getToken());
-            return ResponseEntity.ok(ResponseMessage.builder()
-                    .message("Password has been reset successfully")
-                    .build());
-        } catch (Exception e) {
-            log.error("Password reset failed for token: {}", request.getToken(), e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ResponseMessage.builder()
-                    .message("Failed to reset password: " + e.getMessage())
-                    .build());
+            // Check the token before spending a hash on it
+            passwordResetService.validateResetToken(request.getToken());
+            reset = passwordHashExecutor.encode(request.getNewPassword()).thenAcceptAsync(
+                    encodedPassword -> passwordResetService.completeReset(request.getToken(), encodedPassword),
+                    taskExecutor);
+        } catch (RuntimeException e) {
+            reset = CompletableFuture.failedFuture(e);
         }
+
+        return reset
+                .<ResponseEntity<?>>thenApply(done -> {
+                    log.info("Password reset successful for token: {}", request.getToken());
+                    return ResponseEntity.ok(ResponseMessage.builder()
+                            .message("Password has been reset successfully")
+                            .build());
+                })
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof ServiceBusyException) {
+                        throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+                    }
+                    log.error("Password reset failed for token: {}", request.getToken(), cause);
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ResponseMessage.builder()
+                            .message("Failed to reset password: " + cause.getMessage())
+                            .build());
+                });
     }
 }
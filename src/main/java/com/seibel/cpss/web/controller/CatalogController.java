@@ -0,0 +1,201 @@
+package com.seibel.cpss.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.seibel.cpss.common.cache.CacheStats;
+import com.seibel.cpss.common.exceptions.ValidationException;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
+import com.seibel.cpss.database.db.service.CatalogExportDbService.Dataset;
+import com.seibel.cpss.service.CatalogExportService;
+import com.seibel.cpss.service.CatalogFormat;
+import com.seibel.cpss.service.CatalogImportRow;
+import com.seibel.cpss.service.CatalogImportService;
+import com.seibel.cpss.service.CatalogImportSummary;
+import com.seibel.cpss.web.response.ResponseCacheStats;
+import com.seibel.cpss.web.response.ResponseCatalogImportRow;
+import com.seibel.cpss.web.response.ResponseCatalogImportSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/catalog")
+@Validated
+@Tag(name = "Catalog", description = "Food and nutrition catalog administration")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    static final String TEXT_CSV = "text/csv";
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final byte NEWLINE = '\n';
+
+    private final CatalogCaches catalogCaches;
+    private final CatalogImportService catalogImportService;
+    private final CatalogExportService catalogExportService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/cache")
+    @Operation(summary = "Catalog cache hit/miss statistics")
+    public List<ResponseCacheStats> getCacheStats() {
+        return catalogCaches.stats().stream().map(this::toResponse).toList();
+    }
+
+    /**
+     * Streams back one JSON line per input row as its chunk completes, followed by
+     * a final summary line.
+     */
+    @PostMapping(value = "/import",
+                 consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk upsert foods or nutrition (admin)",
+               description = "Body is CSV in the 10-food-*.csv / 40-nutrition-*.csv column layout, or NDJSON "
+                       + "with the same keys. Rows are validated and upserted in chunks; the response is "
+                       + "one result line per row followed by a summary line.")
+    public ResponseEntity<StreamingResponseBody> importCatalog(
+            @RequestParam String type,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream input) {
+        CatalogImportService.Type importType = toImportType(type);
+        CatalogFormat format = MediaType.APPLICATION_NDJSON.includes(MediaType.parseMediaType(contentType))
+                ? CatalogFormat.NDJSON
+                : CatalogFormat.CSV;
+
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            try {
+                CatalogImportSummary summary = catalogImportService.importRows(importType, format, input, row -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(toResponse(row)));
+                        out.write(NEWLINE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.write(writer.writeValueAsBytes(toResponse(summary)));
+                out.write(NEWLINE);
+                out.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Streams every active row of a dataset in the {@code db/data} seed file
+     * layout. With {@code gzip=true} the body is a gzip file ({@code .csv.gz} /
+     * {@code .ndjson.gz}) flushed after every page.
+     */
+    @GetMapping("/export/{dataset}")
+    @Operation(summary = "Export a catalog dataset (admin)",
+               description = "Datasets: food, nutrition, mixture, mixture-ingredient, salad, salad-ingredient. "
+                       + "Format csv (default) or ndjson, optionally gzip-compressed.")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        Dataset exportDataset = toDataset(dataset);
+        CatalogFormat exportFormat = toFormat(format);
+
+        String fileName = exportDataset.fileName() + (exportFormat == CatalogFormat.CSV ? ".csv" : ".ndjson")
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? APPLICATION_GZIP
+                : exportFormat == CatalogFormat.CSV ? MediaType.parseMediaType(TEXT_CSV) : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+                catalogExportService.export(exportDataset, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                catalogExportService.export(exportDataset, exportFormat, out);
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    private Dataset toDataset(String dataset) {
+        try {
+            return Dataset.valueOf(dataset.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("dataset",
+                    "must be one of food, nutrition, mixture, mixture-ingredient, salad, salad-ingredient");
+        }
+    }
+
+    private CatalogFormat toFormat(String format) {
+        try {
+            return CatalogFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("format", "must be csv or ndjson");
+        }
+    }
+
+    private CatalogImportService.Type toImportType(String type) {
+        try {
+            return CatalogImportService.Type.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("type", "must be food or nutrition");
+        }
+    }
+
+    private ResponseCacheStats toResponse(CacheStats stats) {
+        return ResponseCacheStats.builder()
+                .name(stats.getName())
+                .size(stats.getSize())
+                .maxSize(stats.getMaxSize())
+                .hits(stats.getHits())
+                .misses(stats.getMisses())
+                .evictions(stats.getEvictions())
+                .hitRate(stats.getHitRate())
+                .build();
+    }
+
+    private ResponseCatalogImportRow toResponse(CatalogImportRow row) {
+        return ResponseCatalogImportRow.builder()
+                .row(row.getRow())
+                .name(row.getName())
+                .status(row.getStatus().name())
+                .errors(row.getErrors())
+                .build();
+    }
+
+    private ResponseCatalogImportSummary toResponse(CatalogImportSummary summary) {
+        return ResponseCatalogImportSummary.builder()
+                .type(summary.getType().name())
+                .rows(summary.getRows())
+                .upserted(summary.getUpserted())
+                .rejected(summary.getRejected())
+                .failed(summary.getFailed())
+                .chunks(summary.getChunks())
+                .linked(summary.getLinked())
+                .build();
+    }
+}
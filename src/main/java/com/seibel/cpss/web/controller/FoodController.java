@@ -1,5 +1,6 @@
 package com.seibel.cpss.web.controller;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.service.FoodService;
 import com.seibel.cpss.service.NutritionService;
@@ -7,9 +8,11 @@ import com.seibel.cpss.web.request.RequestFoodCreate;
 import com.seibel.cpss.web.request.RequestFoodUpdate;
 import com.seibel.cpss.web.response.ResponseFood;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +25,7 @@ public class FoodController {
     private final FoodService foodService;
     private final NutritionService nutritionService;
     private final FoodConverter converter;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     public ResponseFood create(@RequestBody RequestFoodCreate request) {
@@ -41,6 +45,17 @@ public class FoodController {
         return converter.toResponse(foodService.findAll());
     }
 
+    @GetMapping("/page")
+    public CursorPage<ResponseFood> getPage(@RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit) {
+        return foodService.findPage(after, limit).map(converter::toResponse);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ndjsonStreamer.<Food, ResponseFood>stream(foodService::findPage, converter::toResponse);
+    }
+
     @GetMapping("/{extid}")
     public ResponseFood getByExtid(@PathVariable String extid) {
         return converter.toResponse(foodService.findByExtid(extid));
@@ -1,19 +1,24 @@
 package com.seibel.cpss.web.controller;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.common.domain.Mixture;
 import com.seibel.cpss.service.FoodService;
 import com.seibel.cpss.service.MixtureService;
+import com.seibel.cpss.service.NutrientEngine;
+import com.seibel.cpss.service.NutrientTotals;
 import com.seibel.cpss.web.request.RequestMixtureCreate;
 import com.seibel.cpss.web.request.RequestMixtureUpdate;
 import com.seibel.cpss.web.response.ResponseNutrition;
 import com.seibel.cpss.web.response.ResponseMixture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +34,7 @@ public class MixtureController {
     private final MixtureService mixtureService;
     private final NutritionConverter nutritionConverter;
     private final MixtureConverter mixtureConverter;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     public ResponseEntity<ResponseMixture> create(@RequestBody RequestMixtureCreate request, Authentication authentication) {
@@ -60,6 +66,17 @@ public class MixtureController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/page")
+    public CursorPage<ResponseMixture> getPage(@RequestParam(required = false) Long after,
+                                               @RequestParam(required = false) Integer limit) {
+        return mixtureService.findPage(after, limit).map(mixtureConverter::toResponse);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ndjsonStreamer.<Mixture, ResponseMixture>stream(mixtureService::findPage, mixtureConverter::toResponse);
+    }
+
     @PutMapping("/{extid}")
     public ResponseMixture update(@PathVariable String extid, @RequestBody RequestMixtureUpdate request) {
         Mixture mixture = mixtureConverter.toDomain(extid, request);
@@ -80,6 +97,8 @@ public class MixtureController {
 class MixtureConverter {
 
     private final FoodService foodService;
+    private final NutritionConverter nutritionConverter;
+    private final NutrientEngine nutrientEngine;
 
     Mixture toDomain(RequestMixtureCreate request, String userExtid) {
         Mixture mixture = Mixture.builder()
@@ -169,50 +188,11 @@ class MixtureConverter {
             return null;
         }
 
-        int totalCarbs = 0;
-        int totalFat = 0;
-        int totalProtein = 0;
-        int totalSugar = 0;
-        int totalFiber = 0;
-        int totalVitaminD = 0;
-        int totalVitaminE = 0;
-
+        NutrientTotals totals = nutrientEngine.newTotals();
         for (com.seibel.cpss.common.domain.MixtureIngredient ingredient : ingredients) {
-            if (ingredient.getFood() != null && ingredient.getFood().getNutrition() != null) {
-                com.seibel.cpss.common.domain.Nutrition nutrition = ingredient.getFood().getNutrition();
-                int grams = ingredient.getGrams();
-
-                // Scale nutrition values by grams (nutrition is per 100g)
-                totalCarbs += scaleNutrient(nutrition.getCarbohydrate(), grams);
-                totalFat += scaleNutrient(nutrition.getFat(), grams);
-                totalProtein += scaleNutrient(nutrition.getProtein(), grams);
-                totalSugar += scaleNutrient(nutrition.getSugar(), grams);
-                totalFiber += scaleNutrient(nutrition.getFiber(), grams);
-                totalVitaminD += scaleNutrient(nutrition.getVitaminD(), grams);
-                totalVitaminE += scaleNutrient(nutrition.getVitaminE(), grams);
-            }
+            totals.add(ingredient.getFoodExtid(), ingredient.getFood(), ingredient.getGrams());
         }
 
-        // Calculate calories from macros (4 cal/g for carbs and protein, 9 cal/g for fat)
-        int totalCalories = (totalCarbs * 4) + (totalProtein * 4) + (totalFat * 9);
-
-        return ResponseNutrition.builder()
-                .calories(totalCalories)
-                .carbohydrate(totalCarbs)
-                .fat(totalFat)
-                .protein(totalProtein)
-                .sugar(totalSugar)
-                .fiber(totalFiber)
-                .vitaminD(totalVitaminD)
-                .vitaminE(totalVitaminE)
-                .build();
-    }
-
-    private int scaleNutrient(Integer nutrientPer100g, int grams) {
-        if (nutrientPer100g == null) {
-            return 0;
-        }
-        // Scale from per-100g to actual grams
-        return (nutrientPer100g * grams) / 100;
+        return nutritionConverter.toResponse(totals);
     }
 }
@@ -0,0 +1,47 @@
+package com.seibel.cpss.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.seibel.cpss.common.domain.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Writes a cursor-paginated listing as newline-delimited JSON. Pages of
+ * {@link CursorPage#MAX_LIMIT} rows are fetched one at a time, so each page
+ * runs in its own short read and only one page is ever held in memory.
+ */
+@Component
+@RequiredArgsConstructor
+class NdjsonStreamer {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    <T, R> ResponseEntity<StreamingResponseBody> stream(BiFunction<Long, Integer, CursorPage<T>> pageFetcher,
+                                                         Function<T, R> toResponse) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            Long after = null;
+            do {
+                CursorPage<T> page = pageFetcher.apply(after, CursorPage.MAX_LIMIT);
+                for (T item : page.getItems()) {
+                    out.write(writer.writeValueAsBytes(toResponse.apply(item)));
+                    out.write(NEWLINE);
+                }
+                out.flush();
+                after = page.getNextCursor();
+            } while (after != null);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,16 +1,21 @@
 package com.seibel.cpss.web.controller;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.service.NutrientEngine;
+import com.seibel.cpss.service.NutrientTotals;
 import com.seibel.cpss.service.NutritionService;
 import com.seibel.cpss.web.request.RequestNutritionCreate;
 import com.seibel.cpss.web.request.RequestNutritionUpdate;
 import com.seibel.cpss.web.response.ResponseNutrition;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,12 +27,24 @@ public class NutritionController {
 
     private final NutritionService service;
     private final NutritionConverter converter;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @GetMapping
     public List<ResponseNutrition> getAll() {
         return converter.toResponse(service.findAll());
     }
 
+    @GetMapping("/page")
+    public CursorPage<ResponseNutrition> getPage(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit) {
+        return service.findPage(after, limit).map(converter::toResponse);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ndjsonStreamer.<Nutrition, ResponseNutrition>stream(service::findPage, converter::toResponse);
+    }
+
     @GetMapping("/{extid}")
     public ResponseNutrition getByExtid(@PathVariable String extid) {
         return converter.toResponse(service.findByExtid(extid));
@@ -73,6 +90,19 @@ class NutritionConverter {
                 .build();
     }
 
+    public ResponseNutrition toResponse(NutrientTotals totals) {
+        return ResponseNutrition.builder()
+                .calories(totals.calories())
+                .carbohydrate(totals.get(NutrientEngine.CARBOHYDRATE))
+                .fat(totals.get(NutrientEngine.FAT))
+                .protein(totals.get(NutrientEngine.PROTEIN))
+                .sugar(totals.get(NutrientEngine.SUGAR))
+                .fiber(totals.get(NutrientEngine.FIBER))
+                .vitaminD(totals.get(NutrientEngine.VITAMIN_D))
+                .vitaminE(totals.get(NutrientEngine.VITAMIN_E))
+                .build();
+    }
+
     public List<ResponseNutrition> toResponse(List<Nutrition> domains) {
         return domains.stream().map(this::toResponse).toList();
     }
@@ -1,8 +1,11 @@
 package com.seibel.cpss.web.controller;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.common.domain.Salad;
 import com.seibel.cpss.service.FoodService;
+import com.seibel.cpss.service.NutrientEngine;
+import com.seibel.cpss.service.NutrientTotals;
 import com.seibel.cpss.service.SaladService;
 import com.seibel.cpss.web.request.RequestSaladBuild;
 import com.seibel.cpss.web.request.RequestSaladCreate;
@@ -11,10 +14,12 @@ import com.seibel.cpss.web.response.ResponseNutrition;
 import com.seibel.cpss.web.response.ResponseSalad;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +35,7 @@ public class SaladController {
     private final SaladService saladService;
     private final NutritionConverter nutritionConverter;
     private final SaladConverter saladConverter;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     public ResponseEntity<ResponseSalad> create(@RequestBody RequestSaladCreate request, Authentication authentication) {
@@ -61,6 +67,17 @@ public class SaladController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/page")
+    public CursorPage<ResponseSalad> getPage(@RequestParam(required = false) Long after,
+                                             @RequestParam(required = false) Integer limit) {
+        return saladService.findPage(after, limit).map(saladConverter::toResponse);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ndjsonStreamer.<Salad, ResponseSalad>stream(saladService::findPage, saladConverter::toResponse);
+    }
+
     @PutMapping("/{extid}")
     public ResponseSalad update(@PathVariable String extid, @RequestBody RequestSaladUpdate request) {
         Salad salad = saladConverter.toDomain(extid, request);
@@ -81,6 +98,8 @@ public class SaladController {
 class SaladConverter {
 
     private final FoodService foodService;
+    private final NutritionConverter nutritionConverter;
+    private final NutrientEngine nutrientEngine;
 
     Salad toDomain(RequestSaladCreate request, String userExtid) {
         Salad salad = Salad.builder()
@@ -177,43 +196,12 @@ class SaladConverter {
             return null;
         }
 
-        int totalCarbs = 0;
-        int totalFat = 0;
-        int totalProtein = 0;
-        int totalSugar = 0;
-        int totalFiber = 0;
-        int totalVitaminD = 0;
-        int totalVitaminE = 0;
-
+        NutrientTotals totals = nutrientEngine.newTotals();
         for (com.seibel.cpss.common.domain.SaladFoodIngredient ingredient : ingredients) {
-            if (ingredient.getFood() != null && ingredient.getFood().getNutrition() != null) {
-                com.seibel.cpss.common.domain.Nutrition nutrition = ingredient.getFood().getNutrition();
-                int grams = ingredient.getGrams();
-
-                // Scale nutrition values by grams (nutrition is per 100g)
-                totalCarbs += scaleNutrient(nutrition.getCarbohydrate(), grams);
-                totalFat += scaleNutrient(nutrition.getFat(), grams);
-                totalProtein += scaleNutrient(nutrition.getProtein(), grams);
-                totalSugar += scaleNutrient(nutrition.getSugar(), grams);
-                totalFiber += scaleNutrient(nutrition.getFiber(), grams);
-                totalVitaminD += scaleNutrient(nutrition.getVitaminD(), grams);
-                totalVitaminE += scaleNutrient(nutrition.getVitaminE(), grams);
-            }
+            totals.add(ingredient.getFoodExtid(), ingredient.getFood(), ingredient.getGrams());
         }
 
-        // Calculate calories from macros (4 cal/g for carbs and protein, 9 cal/g for fat)
-        int totalCalories = (totalCarbs * 4) + (totalProtein * 4) + (totalFat * 9);
-
-        return ResponseNutrition.builder()
-                .calories(totalCalories)
-                .carbohydrate(totalCarbs)
-                .fat(totalFat)
-                .protein(totalProtein)
-                .sugar(totalSugar)
-                .fiber(totalFiber)
-                .vitaminD(totalVitaminD)
-                .vitaminE(totalVitaminE)
-                .build();
+        return nutritionConverter.toResponse(totals);
     }
 
     private FlavorTotals calculateTotalFlavor(List<com.seibel.cpss.common.domain.SaladFoodIngredient> ingredients) {
@@ -246,14 +234,6 @@ class SaladConverter {
         int totalSavory = 0;
     }
 
-    private int scaleNutrient(Integer nutrientPer100g, int grams) {
-        if (nutrientPer100g == null) {
-            return 0;
-        }
-        // Scale from per-100g to actual grams
-        return (nutrientPer100g * grams) / 100;
-    }
-
     private int scaleFlavor(Integer flavorPer100g, int grams) {
         if (flavorPer100g == null) {
             return 0;
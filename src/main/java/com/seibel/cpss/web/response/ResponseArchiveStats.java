@@ -0,0 +1,20 @@
+package com.seibel.cpss.web.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+public class ResponseArchiveStats {
+    private Boolean running;
+    private Long runs;
+    private LocalDateTime lastRunStartedAt;
+    private LocalDateTime lastRunFinishedAt;
+    private Map<String, Long> lastRunArchived;
+    private Map<String, Long> totalArchived;
+    private Long chunks;
+    private String lastError;
+}
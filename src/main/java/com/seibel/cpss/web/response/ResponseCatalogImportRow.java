@@ -0,0 +1,17 @@
+package com.seibel.cpss.web.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResponseCatalogImportRow {
+    private Long row;
+    private String name;
+    private String status;
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package com.seibel.cpss.web.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ResponseCatalogImportSummary {
+    private String type;
+    private Long rows;
+    private Long upserted;
+    private Long rejected;
+    private Long failed;
+    private Integer chunks;
+    private Integer linked;
+}
@@ -0,0 +1,16 @@
+package com.seibel.cpss.web.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ResponsePasswordHashStats {
+    private Integer threads;
+    private Integer active;
+    private Integer queued;
+    private Integer maxQueued;
+    private Integer queueCapacity;
+    private Long completed;
+    private Long rejected;
+}
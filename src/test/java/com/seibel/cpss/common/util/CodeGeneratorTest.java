@@ -0,0 +1,73 @@
+package com.seibel.cpss.common.util;
+
+import com.seibel.cpss.common.util.CodeGenerator.CodeFamily;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeGeneratorTest {
+
+    @Test
+    void generateCode_shouldBuildNameCategorySubcategory() {
+        // Act
+        String code = CodeGenerator.generateCode("Cheddar cheese", "Cheese", "Hard", c -> false);
+
+        // Assert
+        assertEquals("CHEDDA-CHEE-HARD", code);
+    }
+
+    @Test
+    void generateCode_shouldReplaceEndOfNameWithNumber_onCollision() {
+        // Arrange
+        Set<String> taken = Set.of("CHEDDA-CHEE-HARD", "CHEDD1-CHEE-HARD");
+
+        // Act
+        String code = CodeGenerator.generateCode("Cheddar", "Cheese", "Hard", taken::contains);
+
+        // Assert
+        assertEquals("CHEDD2-CHEE-HARD", code);
+    }
+
+    @Test
+    void likePattern_shouldMatchEveryCandidate() {
+        // Arrange
+        CodeFamily food = CodeGenerator.family("Cheddar", "Cheese", "Hard");
+        CodeFamily shortName = CodeGenerator.family("Feta", "Cheese", "Soft");
+        CodeFamily nameOnly = CodeGenerator.family("Mozzarella di bufala");
+
+        for (CodeFamily family : new CodeFamily[]{food, shortName, nameOnly}) {
+            String regex = family.likePattern().replace("%", ".*");
+            for (int attempt = 0; attempt <= 99; attempt++) {
+                // Assert
+                String candidate = family.candidate(attempt);
+                assertTrue(candidate.matches(regex), candidate + " !~ " + family.likePattern());
+                assertTrue(candidate.length() <= 16, candidate);
+            }
+        }
+        assertEquals("CHED%-CHEE-HARD", food.likePattern());
+        assertEquals("FETA%-CHEE-SOFT", shortName.likePattern());
+        assertEquals("MOZZARELLA%", nameOnly.likePattern());
+    }
+
+    @Test
+    void firstFree_shouldThrow_whenAllCandidatesAreTaken() {
+        // Arrange
+        CodeFamily family = CodeGenerator.family("Salt");
+        Set<String> taken = new HashSet<>();
+        for (int attempt = 0; attempt <= 99; attempt++) {
+            taken.add(family.candidate(attempt));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> family.firstFree(taken::contains));
+    }
+
+    @Test
+    void family_shouldReject_nameWithoutAlphanumerics() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CodeGenerator.family("!!!"));
+    }
+}
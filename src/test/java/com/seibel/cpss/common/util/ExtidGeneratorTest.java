@@ -0,0 +1,67 @@
+package com.seibel.cpss.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtidGeneratorTest {
+
+    @Test
+    void newExtid_shouldReturnVersion7Uuid() {
+        // Act
+        UUID uuid = UUID.fromString(ExtidGenerator.newExtid());
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void newExtid_shouldBeStrictlyIncreasing() {
+        // Arrange
+        String previous = ExtidGenerator.newExtid();
+
+        for (int i = 0; i < 10_000; i++) {
+            // Act
+            String next = ExtidGenerator.newExtid();
+
+            // Assert: canonical lower-case hex sorts in generation order
+            assertTrue(next.compareTo(previous) > 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void newExtid_shouldStartWithCurrentTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = ExtidGenerator.newUuid();
+
+        // Assert
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void isExtid_shouldAcceptCanonicalUuids() {
+        // Act & Assert
+        assertTrue(ExtidGenerator.isExtid(ExtidGenerator.newExtid()));
+        assertTrue(ExtidGenerator.isExtid("6F1C2B7E-3D4A-4B5C-9D8E-7F6A5B4C3D2E"));
+    }
+
+    @Test
+    void isExtid_shouldRejectMalformedValues() {
+        // Act & Assert
+        assertFalse(ExtidGenerator.isExtid(null));
+        assertFalse(ExtidGenerator.isExtid(""));
+        assertFalse(ExtidGenerator.isExtid("not-a-uuid"));
+        assertFalse(ExtidGenerator.isExtid("1-2-3-4-5"));
+        assertFalse(ExtidGenerator.isExtid("6f1c2b7e3d4a4b5c9d8e7f6a5b4c3d2e"));
+        assertFalse(ExtidGenerator.isExtid("6f1c2b7e-3d4a-4b5c-9d8e-7f6a5b4c3d2g"));
+        assertFalse(ExtidGenerator.isExtid("6f1c2b7e-3d4a-4b5c-9d8e_7f6a5b4c3d2e"));
+    }
+}
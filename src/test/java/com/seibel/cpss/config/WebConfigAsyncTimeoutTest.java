@@ -0,0 +1,99 @@
+package com.seibel.cpss.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams a response for longer than the container's default async timeout and
+ * checks it arrives complete. The connector default is lowered to one second
+ * here so the test does not have to outlast Tomcat's real 30 seconds.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = WebConfigAsyncTimeoutTest.StreamingApp.class,
+        properties = "app.web.async-timeout-ms=60000")
+class WebConfigAsyncTimeoutTest {
+
+    private static final long CONTAINER_ASYNC_TIMEOUT_MS = 1000;
+    private static final int LINES = 6;
+    private static final long LINE_INTERVAL_MS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void streamingResponse_shouldOutlastContainerDefaultAsyncTimeout() throws Exception {
+        // Arrange
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/slow-stream"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long started = System.nanoTime();
+
+        // Act
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals(LINES, response.body().lines().count(), response.body());
+        assertTrue(elapsedMs > CONTAINER_ASYNC_TIMEOUT_MS, "stream finished in " + elapsedMs + "ms");
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            TaskExecutionAutoConfiguration.class})
+    @Import({WebConfig.class, SlowStreamController.class})
+    static class StreamingApp {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortContainerAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MS));
+        }
+    }
+
+    @RestController
+    static class SlowStreamController {
+
+        @GetMapping("/slow-stream")
+        StreamingResponseBody slowStream() {
+            return out -> {
+                for (int i = 0; i < LINES; i++) {
+                    out.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    try {
+                        Thread.sleep(LINE_INTERVAL_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            };
+        }
+    }
+}
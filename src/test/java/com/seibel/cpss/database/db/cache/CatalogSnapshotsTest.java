@@ -0,0 +1,72 @@
+package com.seibel.cpss.database.db.cache;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.NutritionDb;
+import com.seibel.cpss.database.db.mapper.FoodMapper;
+import com.seibel.cpss.database.db.mapper.NutritionMapper;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotsTest {
+
+    private final FoodMapper foodMapper = new FoodMapper(new NutritionMapper());
+    private final CatalogSnapshots snapshots = new CatalogSnapshots(10);
+
+    @Test
+    void food_shouldReturnSameInstance_forSameFoodAndVersion() {
+        // Arrange
+        FoodDb food = foodDb();
+
+        // Act
+        Food first = snapshots.food(food, foodMapper::toModel);
+        Food second = snapshots.food(food, foodMapper::toModel);
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first.getNutrition(), second.getNutrition());
+        assertEquals(1, snapshots.stats().getHits());
+    }
+
+    @Test
+    void food_shouldRebuild_afterInvalidate() {
+        // Arrange
+        FoodDb food = foodDb();
+        Food before = snapshots.food(food, foodMapper::toModel);
+
+        // Act
+        snapshots.invalidate();
+        Food after = snapshots.food(food, foodMapper::toModel);
+
+        // Assert
+        assertNotSame(before, after);
+        assertEquals(before, after);
+    }
+
+    @Test
+    void food_shouldRebuild_whenEntityWasUpdated() {
+        // Arrange
+        FoodDb food = foodDb();
+        Food before = snapshots.food(food, foodMapper::toModel);
+
+        // Act
+        food.setName("Renamed");
+        food.setUpdatedAt(food.getUpdatedAt().plusSeconds(1));
+        Food after = snapshots.food(food, foodMapper::toModel);
+
+        // Assert
+        assertNotSame(before, after);
+        assertEquals("Renamed", after.getName());
+    }
+
+    private static FoodDb foodDb() {
+        NutritionDb nutrition = DomainBuilderDatabase.getNutritionDb();
+        FoodDb food = DomainBuilderDatabase.getFoodDb(null, null, null, null, null, nutrition, null, null);
+        food.setUpdatedAt(LocalDateTime.now());
+        return food;
+    }
+}
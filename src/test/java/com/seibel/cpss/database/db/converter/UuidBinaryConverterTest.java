@@ -0,0 +1,40 @@
+package com.seibel.cpss.database.db.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidBinaryConverterTest {
+
+    private final UuidBinaryConverter converter = new UuidBinaryConverter();
+
+    @Test
+    void convertToDatabaseColumn_shouldMatchMysqlUuidToBinByteOrder() {
+        // Act
+        byte[] bytes = converter.convertToDatabaseColumn("0190f5a3-7b2c-7d4e-8f10-112233445566");
+
+        // Assert
+        assertEquals("0190f5a37b2c7d4e8f10112233445566", HexFormat.of().formatHex(bytes));
+    }
+
+    @Test
+    void convert_shouldRoundTrip() {
+        // Arrange
+        String extid = "6f1c2b7e-3d4a-4b5c-9d8e-7f6a5b4c3d2e";
+
+        // Act
+        String result = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(extid));
+
+        // Assert
+        assertEquals(extid, result);
+    }
+
+    @Test
+    void convert_shouldPassNullThrough() {
+        // Act & Assert
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CompanyMapperTest {
 
@@ -140,4 +141,10 @@ class CompanyMapperTest {
         assertNotNull(dbList);
         assertEquals(0, dbList.size());
     }
+
+    @Test
+    void toModel_shouldThrow_whenSourceIsNull() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> mapper.toModel(null));
+    }
 }
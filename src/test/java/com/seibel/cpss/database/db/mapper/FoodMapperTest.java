@@ -3,7 +3,6 @@ package com.seibel.cpss.database.db.mapper;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.database.db.entity.FoodDb;
 import com.seibel.cpss.database.db.entity.NutritionDb;
-import com.seibel.cpss.database.db.repository.NutritionRepository;
 import com.seibel.cpss.testutils.DomainBuilderDatabase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,17 +12,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @ExtendWith(MockitoExtension.class)
 class FoodMapperTest {
 
-    @Mock
-    private NutritionRepository nutritionRepository;
     @Mock
     private NutritionMapper nutritionMapper;
 
@@ -31,12 +27,11 @@ class FoodMapperTest {
 
     @BeforeEach
     void setUp() {
-        mapper = new FoodMapper(nutritionRepository, nutritionMapper);
+        mapper = new FoodMapper(nutritionMapper);
 
         // Setup default mock behavior with lenient stubbings
         NutritionDb nutritionDb = DomainBuilderDatabase.getNutritionDb();
 
-        org.mockito.Mockito.lenient().when(nutritionRepository.findByCode(anyString())).thenReturn(Optional.of(nutritionDb));
         org.mockito.Mockito.lenient().when(nutritionMapper.toModel(nutritionDb)).thenReturn(DomainBuilderDatabase.getNutrition(nutritionDb));
     }
 
@@ -86,6 +81,19 @@ class FoodMapperTest {
         assertEquals(domain.getActive(), db.getActive());
     }
 
+    @Test
+    void toDb_shouldLeaveNutritionUnset() {
+        // Arrange
+        Food domain = DomainBuilderDatabase.getFood();
+        domain.setNutrition(DomainBuilderDatabase.getNutrition(DomainBuilderDatabase.getNutritionDb()));
+
+        // Act
+        FoodDb db = mapper.toDb(domain);
+
+        // Assert
+        assertNull(db.getNutrition());
+    }
+
     @Test
     void toModelList_shouldMapAllItems() {
         // Arrange
@@ -5,12 +5,14 @@ import com.seibel.cpss.database.db.entity.NutritionDb;
 import com.seibel.cpss.testutils.DomainBuilderDatabase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class NutritionMapperTest {
 
@@ -150,4 +152,24 @@ class NutritionMapperTest {
         assertNotNull(dbList);
         assertEquals(0, dbList.size());
     }
+
+    @Test
+    void toModel_shouldMatchModelMapper() {
+        // Arrange
+        NutritionDb db = DomainBuilderDatabase.getNutritionDb();
+        db.setId(42L);
+
+        // Act
+        Nutrition handWritten = mapper.toModel(db);
+        Nutrition reflective = new ModelMapper().map(db, Nutrition.class);
+
+        // Assert
+        assertEquals(reflective, handWritten);
+    }
+
+    @Test
+    void toModel_shouldReturnNull_whenSourceIsNull() {
+        // Act & Assert
+        assertNull(mapper.toModel(null));
+    }
 }
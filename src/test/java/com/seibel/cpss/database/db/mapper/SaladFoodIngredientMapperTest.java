@@ -0,0 +1,132 @@
+package com.seibel.cpss.database.db.mapper;
+
+import com.seibel.cpss.common.domain.SaladFoodIngredient;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.SaladDb;
+import com.seibel.cpss.database.db.entity.SaladFoodIngredientDb;
+import com.seibel.cpss.database.db.repository.FoodRepository;
+import com.seibel.cpss.database.db.repository.NutritionRepository;
+import com.seibel.cpss.database.db.service.IdResolutionService;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SaladFoodIngredientMapperTest {
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private FoodRepository foodRepository;
+    @Mock
+    private NutritionRepository nutritionRepository;
+
+    private SaladFoodIngredientMapper mapper;
+    private final SaladDb salad = DomainBuilderDatabase.getSaladDb("user-1");
+
+    @BeforeEach
+    void setUp() {
+        CatalogCaches catalogCaches = new CatalogCaches(100, 60);
+        IdResolutionService idResolutionService =
+                new IdResolutionService(entityManager, foodRepository, nutritionRepository, catalogCaches);
+        mapper = new SaladFoodIngredientMapper(new FoodMapper(new NutritionMapper()), catalogCaches, idResolutionService);
+
+        lenient().when(entityManager.getReference(eq(FoodDb.class), any())).thenAnswer(inv -> {
+            FoodDb food = new FoodDb();
+            food.setId(inv.getArgument(1));
+            return food;
+        });
+    }
+
+    @Test
+    void toDbList_shouldAttachKnownFoodsAndLeaveUnknownFoodsNull() {
+        // Arrange
+        List<SaladFoodIngredient> items = List.of(ingredient("lettuce", 50), ingredient("missing", 20));
+        when(foodRepository.findIdsByExtidIn(anyList())).thenReturn(rows(new Object[]{"lettuce", 7L}));
+
+        // Act
+        List<SaladFoodIngredientDb> result = mapper.toDbList(items, salad);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(7L, result.get(0).getFood().getId());
+        assertEquals(50, result.get(0).getGrams());
+        assertNull(result.get(1).getFood());
+        assertEquals(20, result.get(1).getGrams());
+        assertSame(salad, result.get(0).getSalad());
+        assertSame(salad, result.get(1).getSalad());
+        verify(foodRepository).findIdsByExtidIn(List.of("lettuce", "missing"));
+    }
+
+    @Test
+    void toDbList_shouldQueryDuplicateExtidsOnce_andMapEveryIngredient() {
+        // Arrange
+        List<SaladFoodIngredient> items = List.of(
+                ingredient("lettuce", 50), ingredient("cucumber", 30), ingredient("lettuce", 25));
+        when(foodRepository.findIdsByExtidIn(anyList()))
+                .thenReturn(rows(new Object[]{"lettuce", 7L}, new Object[]{"cucumber", 8L}));
+
+        // Act
+        List<SaladFoodIngredientDb> result = mapper.toDbList(items, salad);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(7L, result.get(0).getFood().getId());
+        assertEquals(8L, result.get(1).getFood().getId());
+        assertEquals(7L, result.get(2).getFood().getId());
+        assertEquals(25, result.get(2).getGrams());
+        verify(foodRepository, times(1)).findIdsByExtidIn(List.of("lettuce", "cucumber"));
+    }
+
+    @Test
+    void toDbList_shouldReturnEmptyList_withoutQuerying_whenNoIngredients() {
+        // Act
+        List<SaladFoodIngredientDb> empty = mapper.toDbList(List.of(), salad);
+        List<SaladFoodIngredientDb> none = mapper.toDbList(null, salad);
+
+        // Assert
+        assertTrue(empty.isEmpty());
+        assertTrue(none.isEmpty());
+        verifyNoInteractions(foodRepository, entityManager);
+    }
+
+    @Test
+    void toDbList_shouldUseIndexedIds_onSecondCall() {
+        // Arrange
+        List<SaladFoodIngredient> items = List.of(ingredient("lettuce", 50));
+        when(foodRepository.findIdsByExtidIn(anyList())).thenReturn(rows(new Object[]{"lettuce", 7L}));
+
+        // Act
+        mapper.toDbList(items, salad);
+        List<SaladFoodIngredientDb> result = mapper.toDbList(items, salad);
+
+        // Assert
+        assertEquals(7L, result.get(0).getFood().getId());
+        verify(foodRepository, times(1)).findIdsByExtidIn(anyList());
+    }
+
+    private static SaladFoodIngredient ingredient(String foodExtid, int grams) {
+        SaladFoodIngredient ingredient = new SaladFoodIngredient();
+        ingredient.setFoodExtid(foodExtid);
+        ingredient.setGrams(grams);
+        return ingredient;
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
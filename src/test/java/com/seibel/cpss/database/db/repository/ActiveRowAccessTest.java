@@ -0,0 +1,139 @@
+package com.seibel.cpss.database.db.repository;
+
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.filter.ActiveRowFilter;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the active-row filter and that the per-user and per-active access
+ * paths are served by their index rather than a full table scan. The plan
+ * tests commit their own seed rows, since ANALYZE TABLE commits implicitly,
+ * and delete them again afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ActiveRowFilter.class)
+class ActiveRowAccessTest {
+
+    private static final int SEED_ROWS = 1000;
+    private static final int SEED_USERS = 200;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private ActiveRowFilter activeRowFilter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void activeOnly_shouldExcludeSoftDeletedRows() {
+        // Arrange
+        FoodDb active = foodRepository.save(DomainBuilderDatabase.getFoodDb());
+        FoodDb deleted = DomainBuilderDatabase.getFoodDb();
+        deleted.setActive(ActiveEnum.INACTIVE);
+        foodRepository.save(deleted);
+
+        // Act
+        List<FoodDb> filtered = activeRowFilter.activeOnly(foodRepository::findAll);
+        List<FoodDb> unfiltered = foodRepository.findAll();
+
+        // Assert
+        assertTrue(filtered.stream().anyMatch(food -> food.getExtid().equals(active.getExtid())));
+        assertTrue(filtered.stream().noneMatch(food -> food.getExtid().equals(deleted.getExtid())));
+        assertTrue(unfiltered.stream().anyMatch(food -> food.getExtid().equals(deleted.getExtid())));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void saladsByUser_shouldUseUserActiveIndex() {
+        String marker = marker();
+        try {
+            seedOwnedRows("salad", marker);
+            assertIndexUsed("SELECT id FROM salad WHERE user_extid = '" + marker + "-0' AND active = 1",
+                    "idx_salad_user_extid_active");
+        } finally {
+            jdbcTemplate().update("DELETE FROM salad WHERE user_extid LIKE ?", marker + "-%");
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void mixturesByUser_shouldUseUserActiveIndex() {
+        String marker = marker();
+        try {
+            seedOwnedRows("mixture", marker);
+            assertIndexUsed("SELECT id FROM mixture WHERE user_extid = '" + marker + "-0' AND active = 1",
+                    "idx_mixture_user_extid_active");
+        } finally {
+            jdbcTemplate().update("DELETE FROM mixture WHERE user_extid LIKE ?", marker + "-%");
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void foodsByActive_shouldUseActiveIndex() {
+        String marker = marker();
+        try {
+            // Soft-deleted foods are the rare case, so active = 0 is selective
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < SEED_ROWS; i++) {
+                rows.add(new Object[]{marker + "-" + i, "Test", "Test", i % 100 == 0 ? 0 : 1});
+            }
+            jdbcTemplate().batchUpdate(
+                    "INSERT INTO food (name, category, subcategory, active) VALUES (?, ?, ?, ?)", rows);
+            jdbcTemplate().execute("ANALYZE TABLE food");
+
+            assertIndexUsed("SELECT id FROM food WHERE active = 0", "idx_food_active");
+        } finally {
+            jdbcTemplate().update("DELETE FROM food WHERE name LIKE ?", marker + "-%");
+        }
+    }
+
+    /**
+     * Commits enough rows, spread over many users with a mix of active flags,
+     * that the optimizer prefers the index over a scan, and refreshes the
+     * table statistics it costs the plan from.
+     */
+    private void seedOwnedRows(String table, String marker) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SEED_ROWS; i++) {
+            rows.add(new Object[]{"Row " + i, marker + "-" + (i % SEED_USERS), i % 3 == 0 ? 0 : 1});
+        }
+        jdbcTemplate().batchUpdate("INSERT INTO " + table + " (name, user_extid, active) VALUES (?, ?, ?)", rows);
+        jdbcTemplate().execute("ANALYZE TABLE " + table);
+    }
+
+    private void assertIndexUsed(String sql, String expectedIndex) {
+        List<Map<String, Object>> plan = jdbcTemplate().queryForList("EXPLAIN " + sql);
+
+        assertEquals(1, plan.size());
+        Map<String, Object> row = plan.get(0);
+        assertEquals(expectedIndex, row.get("key"), expectedIndex + " not chosen for: " + sql + " -> " + row);
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    private static String marker() {
+        return "xpl" + Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+    }
+}
@@ -0,0 +1,93 @@
+package com.seibel.cpss.database.db.repository;
+
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.NutritionDb;
+import com.seibel.cpss.database.db.entity.SaladDb;
+import com.seibel.cpss.database.db.entity.SaladFoodIngredientDb;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SaladRepositoryTest {
+
+    private static final int SALAD_COUNT = 5;
+    private static final int INGREDIENTS_PER_SALAD = 3;
+
+    @Autowired
+    private SaladRepository repository;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private NutritionRepository nutritionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private String userExtid;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        userExtid = UUID.randomUUID().toString();
+
+        List<FoodDb> foods = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS_PER_SALAD; i++) {
+            NutritionDb nutrition = nutritionRepository.save(DomainBuilderDatabase.getNutritionDb());
+            foods.add(foodRepository.save(
+                    DomainBuilderDatabase.getFoodDb(null, null, null, null, null, nutrition, null, null)));
+        }
+
+        for (int i = 0; i < SALAD_COUNT; i++) {
+            SaladDb salad = DomainBuilderDatabase.getSaladDb(userExtid);
+            for (FoodDb food : foods) {
+                salad.getFoodIngredients().add(DomainBuilderDatabase.getSaladFoodIngredientDb(salad, food, 50));
+            }
+            repository.save(salad);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void findByUserExtidAndActive_shouldLoadWholeGraphInOneStatement() {
+        // Act
+        List<SaladDb> result = repository.findByUserExtidAndActive(userExtid, ActiveEnum.ACTIVE);
+
+        // Walk every association the mappers touch
+        int nutritionCount = 0;
+        for (SaladDb salad : result) {
+            for (SaladFoodIngredientDb ingredient : salad.getFoodIngredients()) {
+                if (ingredient.getFood().getNutrition().getCarbohydrate() != null) {
+                    nutritionCount++;
+                }
+            }
+        }
+
+        // Assert
+        assertEquals(SALAD_COUNT, result.size());
+        assertEquals(SALAD_COUNT * INGREDIENTS_PER_SALAD, nutritionCount);
+        assertEquals(1, statistics.getPrepareStatementCount(),
+                "salads for one user should load with a single statement regardless of salad count");
+    }
+}
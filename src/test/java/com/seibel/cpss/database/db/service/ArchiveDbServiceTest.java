@@ -0,0 +1,147 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.SaladDb;
+import com.seibel.cpss.database.db.repository.FoodRepository;
+import com.seibel.cpss.database.db.repository.SaladRepository;
+import com.seibel.cpss.database.db.service.ArchiveDbService.Target;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs archive chunks against the real schema. Eligible rows are soft-deleted
+ * before a cutoff far in the past, so rows already in the database are not
+ * picked up.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ArchiveDbService.class)
+class ArchiveDbServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int INGREDIENTS_PER_SALAD = 2;
+
+    @Autowired
+    private ArchiveDbService archiveDbService;
+
+    @Autowired
+    private SaladRepository saladRepository;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private FoodDb food;
+    private String userExtid;
+
+    @BeforeEach
+    void setUp() {
+        food = foodRepository.save(DomainBuilderDatabase.getFoodDb());
+        userExtid = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void archiveChunk_shouldMoveEligibleSaladsWithIngredients_andLeaveOthers() {
+        // Arrange
+        SaladDb eligible = salad(ActiveEnum.INACTIVE, CUTOFF.minusDays(1));
+        SaladDb deletedAfterCutoff = salad(ActiveEnum.INACTIVE, CUTOFF.plusDays(1));
+        SaladDb active = salad(ActiveEnum.ACTIVE, null);
+        flush();
+
+        // Act
+        int moved = archiveDbService.archiveChunk(Target.SALADS, CUTOFF, 10);
+
+        // Assert
+        assertEquals(1, moved);
+        assertEquals(0, count("salad", "id", eligible.getId()));
+        assertEquals(0, count("salad_food_ingredient", "salad_id", eligible.getId()));
+        assertEquals(1, count("salad_archive", "id", eligible.getId()));
+        assertEquals(INGREDIENTS_PER_SALAD, count("salad_food_ingredient_archive", "salad_id", eligible.getId()));
+
+        for (SaladDb kept : new SaladDb[]{deletedAfterCutoff, active}) {
+            assertEquals(1, count("salad", "id", kept.getId()));
+            assertEquals(INGREDIENTS_PER_SALAD, count("salad_food_ingredient", "salad_id", kept.getId()));
+            assertEquals(0, count("salad_archive", "id", kept.getId()));
+        }
+    }
+
+    @Test
+    void archiveChunk_shouldKeepColumnValues_andStampArchivedAt() {
+        // Arrange
+        SaladDb eligible = salad(ActiveEnum.INACTIVE, CUTOFF.minusDays(1));
+        flush();
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+
+        // Act
+        archiveDbService.archiveChunk(Target.SALADS, CUTOFF, 10);
+
+        // Assert
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+                "SELECT BIN_TO_UUID(extid) AS extid, name, user_extid, archived_at FROM salad_archive WHERE id = ?",
+                eligible.getId());
+        assertEquals(eligible.getExtid(), archived.get("extid"));
+        assertEquals(eligible.getName(), archived.get("name"));
+        assertEquals(userExtid, archived.get("user_extid"));
+        assertFalse(((LocalDateTime) archived.get("archived_at")).isBefore(before));
+    }
+
+    @Test
+    void archiveChunk_shouldStopAtLimit_andDrainOnLaterChunks() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            salad(ActiveEnum.INACTIVE, CUTOFF.minusDays(1));
+        }
+        flush();
+
+        // Act
+        int first = archiveDbService.archiveChunk(Target.SALADS, CUTOFF, 2);
+        int second = archiveDbService.archiveChunk(Target.SALADS, CUTOFF, 2);
+        int third = archiveDbService.archiveChunk(Target.SALADS, CUTOFF, 2);
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, third);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM salad WHERE user_extid = ?", Integer.class, userExtid));
+    }
+
+    private SaladDb salad(ActiveEnum active, LocalDateTime deletedAt) {
+        SaladDb salad = DomainBuilderDatabase.getSaladDb(userExtid);
+        salad.setActive(active);
+        salad.setDeletedAt(deletedAt);
+        for (int i = 0; i < INGREDIENTS_PER_SALAD; i++) {
+            salad.getFoodIngredients().add(DomainBuilderDatabase.getSaladFoodIngredientDb(salad, food, 50));
+        }
+        return saladRepository.save(salad);
+    }
+
+    private void flush() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private int count(String table, String column, Long id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,115 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
+import com.seibel.cpss.database.db.entity.NutritionDb;
+import com.seibel.cpss.database.db.repository.NutritionRepository;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService.UpsertResult;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CatalogBulkDbService.class, CatalogCaches.class})
+class CatalogBulkDbServiceTest {
+
+    @Autowired
+    private CatalogBulkDbService catalogBulkDbService;
+
+    @Autowired
+    private NutritionRepository nutritionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void upsertNutrition_shouldUpdateRowMatchedByName_andKeepItsCode() {
+        // Arrange
+        NutritionDb existing = nutritionRepository.saveAndFlush(DomainBuilderDatabase.getNutritionDb());
+        Nutrition item = DomainBuilderDatabase.getNutrition(existing);
+        item.setCode(null);
+        item.setProtein(99);
+
+        // Act
+        UpsertResult result = catalogBulkDbService.upsertNutrition(List.of(item));
+
+        // Assert
+        assertEquals(1, result.written());
+        assertTrue(result.conflicts().isEmpty());
+        Map<String, Object> row = row(existing.getName());
+        assertEquals(existing.getCode(), row.get("code"));
+        assertEquals(99, row.get("protein"));
+    }
+
+    @Test
+    void upsertNutrition_shouldReactivateSoftDeletedRow() {
+        // Arrange
+        NutritionDb deleted = DomainBuilderDatabase.getNutritionDb();
+        deleted.setActive(ActiveEnum.INACTIVE);
+        deleted.setDeletedAt(LocalDateTime.now().minusDays(1));
+        nutritionRepository.saveAndFlush(deleted);
+
+        // Act
+        catalogBulkDbService.upsertNutrition(List.of(DomainBuilderDatabase.getNutrition(deleted)));
+
+        // Assert
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT active, deleted_at FROM nutrition WHERE name = ?", deleted.getName());
+        assertEquals(ActiveEnum.ACTIVE.value, ((Number) row.get("active")).intValue());
+        assertNull(row.get("deleted_at"));
+    }
+
+    @Test
+    void upsertNutrition_shouldSkipRow_whoseCodeBelongsToAnotherName() {
+        // Arrange
+        NutritionDb existing = nutritionRepository.saveAndFlush(DomainBuilderDatabase.getNutritionDb());
+        Nutrition item = DomainBuilderDatabase.getNutrition(DomainBuilderDatabase.getNutritionDb());
+        item.setCode(existing.getCode());
+        item.setProtein(99);
+
+        // Act
+        UpsertResult result = catalogBulkDbService.upsertNutrition(List.of(item));
+
+        // Assert
+        assertEquals(0, result.written());
+        assertEquals(Map.of(0, "code " + existing.getCode() + " already belongs to " + existing.getName()),
+                result.conflicts());
+        assertEquals(existing.getProtein(), row(existing.getName()).get("protein"));
+        assertEquals(0, count(item.getName()));
+    }
+
+    @Test
+    void upsertNutrition_shouldInsertNewRow_withGeneratedCode() {
+        // Arrange
+        Nutrition item = DomainBuilderDatabase.getNutrition(DomainBuilderDatabase.getNutritionDb());
+        item.setCode(null);
+
+        // Act
+        UpsertResult result = catalogBulkDbService.upsertNutrition(List.of(item, item));
+
+        // Assert: the second occurrence updates the row the first one inserted
+        assertEquals(2, result.written());
+        assertEquals(1, count(item.getName()));
+        assertNotNull(row(item.getName()).get("code"));
+    }
+
+    private Map<String, Object> row(String name) {
+        return jdbcTemplate.queryForMap("SELECT code, protein FROM nutrition WHERE name = ?", name);
+    }
+
+    private int count(String name) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM nutrition WHERE name = ?", Integer.class, name);
+    }
+}
@@ -0,0 +1,115 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.database.db.repository.CompanyRepository;
+import com.seibel.cpss.database.db.repository.FoodRepository;
+import com.seibel.cpss.database.db.repository.NutritionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CodeAllocationServiceTest {
+
+    @Mock
+    private FoodRepository foodRepository;
+
+    @Mock
+    private NutritionRepository nutritionRepository;
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    private CodeAllocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CodeAllocationService(foodRepository, nutritionRepository, companyRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void allocateFoodCode_shouldPickFirstFreeSuffix_fromOneQuery() {
+        // Arrange
+        when(foodRepository.findCodesLike("CHED%-CHEE-HARD"))
+                .thenReturn(List.of("CHEDDA-CHEE-HARD", "chedd1-chee-hard", "CHEDD3-CHEE-HARD"));
+
+        // Act
+        String code = service.allocateFoodCode("Cheddar", "Cheese", "Hard");
+
+        // Assert
+        assertEquals("CHEDD2-CHEE-HARD", code);
+        verify(foodRepository, times(1)).findCodesLike(anyString());
+        verify(foodRepository, never()).findByCode(anyString());
+    }
+
+    @Test
+    void allocate_shouldMakeOtherAllocations_waitUntilTransactionCompletes() throws Exception {
+        // Arrange
+        when(nutritionRepository.findCodesLike("BRIE%")).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        String first = service.allocateNutritionCode("Brie");
+
+        // Act: the first transaction is still open, so a second request has to wait
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> service.allocateNutritionCode("Brie"));
+
+        // Assert
+        assertEquals("BRIE", first);
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+
+        // Act: the first row is committed and the transaction finishes
+        when(nutritionRepository.findCodesLike("BRIE%")).thenReturn(List.of("BRIE"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert: the waiting request now sees the committed code
+        assertEquals("BRIE1", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void allocate_shouldNotBlockOtherTables_whileTransactionIsOpen() {
+        // Arrange
+        when(nutritionRepository.findCodesLike("BRIE%")).thenReturn(List.of());
+        when(companyRepository.findCodesLike("ACME%")).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        service.allocateNutritionCode("Brie");
+
+        // Act
+        String code = CompletableFuture.supplyAsync(() -> service.allocateCompanyCode("Acme Foods")).join();
+
+        // Assert
+        assertEquals("ACME", code);
+    }
+
+    @Test
+    void allocateCompanyCode_shouldReleaseImmediately_withoutTransaction() {
+        // Arrange
+        when(companyRepository.findCodesLike("ACME%")).thenReturn(List.of());
+
+        // Act
+        String first = service.allocateCompanyCode("Acme Foods");
+        String second = service.allocateCompanyCode("Acme Foods");
+
+        // Assert
+        assertEquals("ACME", first);
+        assertEquals("ACME", second);
+    }
+}
@@ -34,6 +34,9 @@ class CompanyDbServiceTest {
     @Mock
     private CompanyMapper mapper;
 
+    @Mock
+    private CodeAllocationService codeAllocationService;
+
     @InjectMocks
     private CompanyDbService service;
 
@@ -1,9 +1,13 @@
 package com.seibel.cpss.database.db.service;
 
+import com.seibel.cpss.common.domain.CursorPage;
 import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
 import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.NutritionDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.filter.ActiveRowFilter;
 import com.seibel.cpss.database.db.mapper.FoodMapper;
 import com.seibel.cpss.database.db.mapper.NutritionMapper;
 import com.seibel.cpss.database.db.repository.FoodRepository;
@@ -13,14 +17,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +43,18 @@ class FoodDbServiceTest {
     @Mock
     private NutritionMapper nutritionMapper;
 
+    @Spy
+    private CatalogCaches catalogCaches = new CatalogCaches(100, 60);
+
+    @Mock
+    private ActiveRowFilter activeRowFilter;
+
+    @Mock
+    private CodeAllocationService codeAllocationService;
+
+    @Mock
+    private IdResolutionService idResolutionService;
+
     @InjectMocks
     private FoodDbService service;
 
@@ -59,6 +79,51 @@ class FoodDbServiceTest {
         assertEquals(ActiveEnum.ACTIVE, captor.getValue().getActive());
     }
 
+    @Test
+    void create_shouldAllocateCode_whenNoneProvided() {
+        // Arrange
+        Food domain = DomainBuilderDatabase.getFood();
+        FoodDb dbEntity = DomainBuilderDatabase.getFoodDb();
+        dbEntity.setCode(null);
+
+        when(mapper.toDb(domain)).thenReturn(dbEntity);
+        when(codeAllocationService.allocateFoodCode(dbEntity.getName(), dbEntity.getCategory(), dbEntity.getSubcategory()))
+                .thenReturn("CHEDDA-CHEE-HARD");
+        when(repository.save(any(FoodDb.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toModel(any(FoodDb.class))).thenReturn(domain);
+
+        // Act
+        service.create(domain);
+
+        // Assert
+        ArgumentCaptor<FoodDb> captor = ArgumentCaptor.forClass(FoodDb.class);
+        verify(repository).save(captor.capture());
+        assertEquals("CHEDDA-CHEE-HARD", captor.getValue().getCode());
+        verify(repository, never()).findByCode(any());
+    }
+
+    @Test
+    void create_shouldAttachNutritionReferenceByCode() {
+        // Arrange
+        NutritionDb nutritionDb = DomainBuilderDatabase.getNutritionDb();
+        Food domain = DomainBuilderDatabase.getFood();
+        domain.setNutrition(DomainBuilderDatabase.getNutrition(nutritionDb));
+        FoodDb dbEntity = DomainBuilderDatabase.getFoodDb();
+
+        when(mapper.toDb(domain)).thenReturn(dbEntity);
+        when(idResolutionService.nutritionReference(nutritionDb.getCode())).thenReturn(nutritionDb);
+        when(repository.save(any(FoodDb.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toModel(any(FoodDb.class))).thenReturn(domain);
+
+        // Act
+        service.create(domain);
+
+        // Assert
+        ArgumentCaptor<FoodDb> captor = ArgumentCaptor.forClass(FoodDb.class);
+        verify(repository).save(captor.capture());
+        assertSame(nutritionDb, captor.getValue().getNutrition());
+    }
+
     @Test
     void create_shouldThrowException_whenRepositoryFails() {
         // Arrange
@@ -147,6 +212,7 @@ class FoodDbServiceTest {
         FoodDb db2 = DomainBuilderDatabase.getFoodDb();
         List<FoodDb> dbList = Arrays.asList(db1, db2);
 
+        when(activeRowFilter.activeOnly(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         when(repository.findAll()).thenReturn(dbList);
         when(mapper.toModelList(dbList)).thenReturn(Arrays.asList(
                 DomainBuilderDatabase.getFood(db1),
@@ -176,4 +242,87 @@ class FoodDbServiceTest {
         // Assert
         assertEquals(1, result.size());
     }
+
+    @Test
+    void findByExtid_shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        String extid = "cached-extid";
+        FoodDb db = DomainBuilderDatabase.getFoodDb();
+        Food expectedDomain = DomainBuilderDatabase.getFood(db);
+
+        when(repository.findByExtid(extid)).thenReturn(Optional.of(db));
+        when(mapper.toModel(db)).thenReturn(expectedDomain);
+
+        // Act
+        service.findByExtid(extid);
+        Food result = service.findByExtid(extid);
+
+        // Assert
+        assertSame(expectedDomain, result);
+        verify(repository, times(1)).findByExtid(extid);
+    }
+
+    @Test
+    void delete_shouldInvalidateCachedFood() {
+        // Arrange
+        String extid = "cached-extid";
+        FoodDb db = DomainBuilderDatabase.getFoodDb();
+
+        when(repository.findByExtid(extid)).thenReturn(Optional.of(db));
+        when(repository.save(any(FoodDb.class))).thenReturn(db);
+        when(mapper.toModel(db)).thenReturn(DomainBuilderDatabase.getFood(db));
+
+        // Act
+        service.findByExtid(extid);
+        service.delete(extid);
+        service.findByExtid(extid);
+
+        // Assert - initial load, delete lookup, reload after invalidation
+        verify(repository, times(3)).findByExtid(extid);
+    }
+
+    @Test
+    void findPage_shouldReturnNextCursor_whenMoreRowsExist() {
+        // Arrange
+        FoodDb db1 = DomainBuilderDatabase.getFoodDb();
+        db1.setId(11L);
+        FoodDb db2 = DomainBuilderDatabase.getFoodDb();
+        db2.setId(12L);
+        FoodDb db3 = DomainBuilderDatabase.getFoodDb();
+        db3.setId(13L);
+
+        when(repository.findPageAfter(eq(10L), any(Pageable.class))).thenReturn(Arrays.asList(db1, db2, db3));
+        when(mapper.toModelList(List.of(db1, db2))).thenReturn(Arrays.asList(
+                DomainBuilderDatabase.getFood(db1),
+                DomainBuilderDatabase.getFood(db2)
+        ));
+
+        // Act
+        CursorPage<Food> result = service.findPage(10L, 2);
+
+        // Assert - one extra row is requested to detect the next page
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findPageAfter(eq(10L), captor.capture());
+        assertEquals(3, captor.getValue().getPageSize());
+        assertEquals(2, result.getItems().size());
+        assertEquals(12L, result.getNextCursor());
+    }
+
+    @Test
+    void findPage_shouldReturnNullCursor_onLastPage() {
+        // Arrange
+        FoodDb db = DomainBuilderDatabase.getFoodDb();
+        db.setId(42L);
+
+        when(repository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(db));
+        when(mapper.toModelList(List.of(db))).thenReturn(List.of(DomainBuilderDatabase.getFood(db)));
+
+        // Act
+        CursorPage<Food> result = service.findPage(0L, 20);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        assertFalse(result.hasNext());
+    }
 }
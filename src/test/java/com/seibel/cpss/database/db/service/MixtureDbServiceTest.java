@@ -0,0 +1,144 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.domain.Mixture;
+import com.seibel.cpss.common.domain.MixtureIngredient;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.MixtureDb;
+import com.seibel.cpss.database.db.entity.MixtureIngredientDb;
+import com.seibel.cpss.database.db.mapper.MixtureIngredientMapper;
+import com.seibel.cpss.database.db.mapper.MixtureMapper;
+import com.seibel.cpss.database.db.repository.MixtureRepository;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MixtureDbServiceTest {
+
+    @Mock
+    private MixtureRepository repository;
+
+    @Mock
+    private MixtureMapper mapper;
+
+    @Mock
+    private MixtureIngredientMapper ingredientMapper;
+
+    @InjectMocks
+    private MixtureDbService service;
+
+    @Test
+    void update_shouldMergeIngredientsByFood_keepingExtidsOfMatchedRows() {
+        // Arrange
+        FoodDb oil = food(1L);
+        FoodDb vinegar = food(2L);
+        FoodDb mustard = food(3L);
+
+        MixtureDb record = DomainBuilderDatabase.getMixtureDb(null);
+        MixtureIngredientDb oilRow = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 60);
+        MixtureIngredientDb vinegarRow = DomainBuilderDatabase.getMixtureIngredientDb(record, vinegar, 20);
+        record.getIngredients().addAll(List.of(oilRow, vinegarRow));
+        String oilExtid = oilRow.getExtid();
+
+        // Oil grams change, vinegar is dropped, mustard is new
+        MixtureIngredientDb oilRequested = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 45);
+        MixtureIngredientDb mustardRequested = DomainBuilderDatabase.getMixtureIngredientDb(record, mustard, 5);
+
+        Mixture mixture = new Mixture();
+        mixture.setName(record.getName());
+        mixture.setIngredients(List.of(new MixtureIngredient(), new MixtureIngredient()));
+
+        when(repository.findByExtid(record.getExtid())).thenReturn(Optional.of(record));
+        when(ingredientMapper.toDbList(anyList(), eq(record))).thenReturn(List.of(oilRequested, mustardRequested));
+        when(repository.save(any(MixtureDb.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        service.update(record.getExtid(), mixture);
+
+        // Assert
+        List<MixtureIngredientDb> ingredients = record.getIngredients();
+        assertEquals(2, ingredients.size());
+        assertSame(oilRow, ingredients.get(0));
+        assertEquals(oilExtid, oilRow.getExtid());
+        assertEquals(45, oilRow.getGrams());
+        assertSame(mustardRequested, ingredients.get(1));
+        assertNull(mustardRequested.getId());
+        assertFalse(ingredients.contains(vinegarRow));
+    }
+
+    @Test
+    void update_shouldMatchFoodListedTwiceAgainstTwoExistingRows() {
+        // Arrange
+        FoodDb oil = food(1L);
+
+        MixtureDb record = DomainBuilderDatabase.getMixtureDb(null);
+        MixtureIngredientDb firstRow = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 30);
+        MixtureIngredientDb secondRow = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 10);
+        record.getIngredients().addAll(List.of(firstRow, secondRow));
+
+        MixtureIngredientDb firstRequested = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 30);
+        MixtureIngredientDb secondRequested = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 15);
+        MixtureIngredientDb thirdRequested = DomainBuilderDatabase.getMixtureIngredientDb(record, oil, 5);
+
+        Mixture mixture = new Mixture();
+        mixture.setName(record.getName());
+        mixture.setIngredients(List.of(new MixtureIngredient(), new MixtureIngredient(), new MixtureIngredient()));
+
+        when(repository.findByExtid(record.getExtid())).thenReturn(Optional.of(record));
+        when(ingredientMapper.toDbList(anyList(), eq(record)))
+                .thenReturn(List.of(firstRequested, secondRequested, thirdRequested));
+        when(repository.save(any(MixtureDb.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        service.update(record.getExtid(), mixture);
+
+        // Assert
+        List<MixtureIngredientDb> ingredients = record.getIngredients();
+        assertEquals(3, ingredients.size());
+        assertSame(firstRow, ingredients.get(0));
+        assertSame(secondRow, ingredients.get(1));
+        assertSame(thirdRequested, ingredients.get(2));
+        assertEquals(30, firstRow.getGrams());
+        assertEquals(15, secondRow.getGrams());
+        assertNull(thirdRequested.getId());
+    }
+
+    @Test
+    void findByExtid_shouldReturnNull_withoutQuerying_whenExtidIsMalformed() {
+        // Act
+        Mixture result = service.findByExtid("not-a-uuid");
+
+        // Assert
+        assertNull(result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void update_shouldReturnNull_withoutQuerying_whenExtidIsMalformed() {
+        // Act
+        Mixture result = service.update("1234", new Mixture());
+
+        // Assert
+        assertNull(result);
+        verifyNoInteractions(repository);
+    }
+
+    private static FoodDb food(Long id) {
+        FoodDb food = DomainBuilderDatabase.getFoodDb();
+        food.setId(id);
+        return food;
+    }
+}
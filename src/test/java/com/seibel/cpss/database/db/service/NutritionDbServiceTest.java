@@ -2,8 +2,10 @@ package com.seibel.cpss.database.db.service;
 
 import com.seibel.cpss.common.domain.Nutrition;
 import com.seibel.cpss.common.enums.ActiveEnum;
+import com.seibel.cpss.database.db.cache.CatalogCaches;
 import com.seibel.cpss.database.db.entity.NutritionDb;
 import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.filter.ActiveRowFilter;
 import com.seibel.cpss.database.db.mapper.NutritionMapper;
 import com.seibel.cpss.database.db.repository.NutritionRepository;
 import com.seibel.cpss.testutils.DomainBuilderDatabase;
@@ -12,11 +14,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +35,15 @@ class NutritionDbServiceTest {
     @Mock
     private NutritionMapper mapper;
 
+    @Spy
+    private CatalogCaches catalogCaches = new CatalogCaches(100, 60);
+
+    @Mock
+    private ActiveRowFilter activeRowFilter;
+
+    @Mock
+    private CodeAllocationService codeAllocationService;
+
     @InjectMocks
     private NutritionDbService service;
 
@@ -144,6 +157,7 @@ class NutritionDbServiceTest {
         NutritionDb db2 = DomainBuilderDatabase.getNutritionDb();
         List<NutritionDb> dbList = Arrays.asList(db1, db2);
 
+        when(activeRowFilter.activeOnly(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         when(repository.findAll()).thenReturn(dbList);
         when(mapper.toModelList(dbList)).thenReturn(Arrays.asList(
                 DomainBuilderDatabase.getNutrition(db1),
@@ -0,0 +1,114 @@
+package com.seibel.cpss.database.db.service;
+
+import com.seibel.cpss.common.domain.Salad;
+import com.seibel.cpss.common.domain.SaladFoodIngredient;
+import com.seibel.cpss.database.db.entity.FoodDb;
+import com.seibel.cpss.database.db.entity.SaladDb;
+import com.seibel.cpss.database.db.entity.SaladFoodIngredientDb;
+import com.seibel.cpss.database.db.mapper.SaladFoodIngredientMapper;
+import com.seibel.cpss.database.db.mapper.SaladMapper;
+import com.seibel.cpss.database.db.repository.SaladRepository;
+import com.seibel.cpss.testutils.DomainBuilderDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaladDbServiceTest {
+
+    @Mock
+    private SaladRepository repository;
+
+    @Mock
+    private SaladMapper mapper;
+
+    @Mock
+    private SaladFoodIngredientMapper ingredientMapper;
+
+    @InjectMocks
+    private SaladDbService service;
+
+    @Test
+    void update_shouldMergeIngredientsByFood_keepingExtidsOfMatchedRows() {
+        // Arrange
+        FoodDb lettuce = food(1L);
+        FoodDb tomato = food(2L);
+        FoodDb cucumber = food(3L);
+
+        SaladDb record = DomainBuilderDatabase.getSaladDb(null);
+        SaladFoodIngredientDb lettuceRow = DomainBuilderDatabase.getSaladFoodIngredientDb(record, lettuce, 50);
+        SaladFoodIngredientDb tomatoRow = DomainBuilderDatabase.getSaladFoodIngredientDb(record, tomato, 30);
+        record.getFoodIngredients().addAll(List.of(lettuceRow, tomatoRow));
+        String lettuceExtid = lettuceRow.getExtid();
+
+        // Lettuce grams change, tomato is dropped, cucumber is new
+        SaladFoodIngredientDb lettuceRequested = DomainBuilderDatabase.getSaladFoodIngredientDb(record, lettuce, 80);
+        SaladFoodIngredientDb cucumberRequested = DomainBuilderDatabase.getSaladFoodIngredientDb(record, cucumber, 20);
+
+        Salad salad = new Salad();
+        salad.setName(record.getName());
+        salad.setFoodIngredients(List.of(new SaladFoodIngredient(), new SaladFoodIngredient()));
+
+        when(repository.findByExtid(record.getExtid())).thenReturn(Optional.of(record));
+        when(ingredientMapper.toDbList(anyList(), eq(record))).thenReturn(List.of(lettuceRequested, cucumberRequested));
+        when(repository.save(any(SaladDb.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        service.update(record.getExtid(), salad);
+
+        // Assert
+        List<SaladFoodIngredientDb> ingredients = record.getFoodIngredients();
+        assertEquals(2, ingredients.size());
+        assertSame(lettuceRow, ingredients.get(0));
+        assertEquals(lettuceExtid, lettuceRow.getExtid());
+        assertEquals(80, lettuceRow.getGrams());
+        assertSame(cucumberRequested, ingredients.get(1));
+        assertNull(cucumberRequested.getId());
+        assertFalse(ingredients.contains(tomatoRow));
+    }
+
+    @Test
+    void findByExtid_shouldReturnNull_withoutQuerying_whenExtidIsMalformed() {
+        // Act
+        Salad result = service.findByExtid("not-a-uuid");
+
+        // Assert
+        assertNull(result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void update_shouldReturnNull_withoutQuerying_whenExtidIsMalformed() {
+        // Act
+        Salad result = service.update("1234", new Salad());
+
+        // Assert
+        assertNull(result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void delete_shouldDoNothing_whenExtidIsMalformed() {
+        // Act & Assert
+        assertDoesNotThrow(() -> service.delete("x' OR '1'='1"));
+        verifyNoInteractions(repository);
+    }
+
+    private static FoodDb food(Long id) {
+        FoodDb food = DomainBuilderDatabase.getFoodDb();
+        food.setId(id);
+        return food;
+    }
+}
@@ -0,0 +1,55 @@
+package com.seibel.cpss.loader;
+
+import com.seibel.cpss.loader.CatalogFileReader.CatalogFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogFileReaderTest {
+
+    private final CatalogFileReader reader = new CatalogFileReader(3);
+
+    @Test
+    void readAll_shouldReturnFilesInRequestedOrder() throws IOException {
+        // Arrange
+        List<String> paths = List.of(
+                "db/data/10-food-cheese.csv",
+                "db/data/10-food-nuts.csv",
+                "db/data/40-nutrition-cheese.csv",
+                "db/data/40-nutrition-nuts.csv"
+        );
+
+        // Act
+        List<CatalogFile> files = reader.readAll(paths);
+
+        // Assert
+        assertEquals(paths, files.stream().map(CatalogFile::path).toList());
+        assertTrue(files.stream().allMatch(file -> !file.records().isEmpty()));
+        assertTrue(files.stream().allMatch(file -> file.hash().length() == 64));
+    }
+
+    @Test
+    void read_shouldProduceStableHash_forSameContent() throws IOException {
+        // Act
+        CatalogFile first = reader.read("db/data/10-food-cheese.csv");
+        CatalogFile second = reader.read("db/data/10-food-cheese.csv");
+        CatalogFile other = reader.read("db/data/10-food-nuts.csv");
+
+        // Assert
+        assertEquals(first.hash(), second.hash());
+        assertNotEquals(first.hash(), other.hash());
+    }
+
+    @Test
+    void sha256_shouldMatchKnownDigest() {
+        // Act
+        String hash = CatalogFileReader.sha256("abc".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+    }
+}
@@ -0,0 +1,93 @@
+package com.seibel.cpss.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvCursorTest {
+
+    @Test
+    void next_shouldHandleQuotedCommasQuotesAndNewlines() throws IOException {
+        // Arrange
+        String csv = "name,notes\n" +
+                "Feta,\"Salty, crumbly\"\n" +
+                "Brie,\"Says \"\"ooh\"\"\"\n" +
+                "Gouda,\"line one\nline two\"\n";
+
+        // Act
+        List<String> notes = new ArrayList<>();
+        try (CsvCursor cursor = CsvCursor.open(stream(csv))) {
+            int column = cursor.column("notes");
+            while (cursor.next()) {
+                notes.add(cursor.get(column));
+            }
+        }
+
+        // Assert
+        assertEquals(List.of("Salty, crumbly", "Says \"ooh\"", "line one\nline two"), notes);
+    }
+
+    @Test
+    void next_shouldSkipBlankAndMalformedRows() throws IOException {
+        // Arrange
+        String csv = "name,category\n" +
+                "Feta,Cheese\n" +
+                "\n" +
+                "   \n" +
+                "Broken\n" +
+                " Kale , Greens \n";
+
+        // Act
+        List<String> names = new ArrayList<>();
+        long skipped;
+        try (CsvCursor cursor = CsvCursor.open(stream(csv))) {
+            while (cursor.next()) {
+                names.add(cursor.get("name") + "/" + cursor.get("category"));
+            }
+            skipped = cursor.skippedRows();
+        }
+
+        // Assert
+        assertEquals(List.of("Feta/Cheese", "Kale/Greens"), names);
+        assertEquals(1, skipped);
+    }
+
+    @Test
+    void column_shouldReturnMinusOne_forUnknownColumn() throws IOException {
+        try (CsvCursor cursor = CsvCursor.open(stream("name\nFeta\n"))) {
+            // Act
+            assertTrue(cursor.next());
+
+            // Assert
+            assertEquals(-1, cursor.column("missing"));
+            assertNull(cursor.get("missing"));
+        }
+    }
+
+    @Test
+    void parse_shouldReturnRowsAsMaps() throws IOException {
+        // Act
+        List<Map<String, String>> rows = CsvParser.parse("test.csv", stream("name,grams\nFeta,30\nKale,50\n"));
+
+        // Assert
+        assertEquals(List.of(Map.of("name", "Feta", "grams", "30"), Map.of("name", "Kale", "grams", "50")), rows);
+    }
+
+    @Test
+    void parse_shouldReturnEmptyList_forEmptyInput() throws IOException {
+        // Act & Assert
+        assertTrue(CsvParser.parse("empty.csv", stream("")).isEmpty());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.database.db.entity.UserDb;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "TestSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String bearer() {
+        UserDb user = new UserDb();
+        user.setExtid("user-1");
+        user.setUsername("alice");
+        user.setRole("ADMIN");
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    private void filter(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/salads");
+        request.addHeader("Authorization", authorization);
+        new JwtAuthenticationFilter(jwtUtil, tokenVersionService)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Test
+    void doFilter_shouldAuthenticateFromClaims_whenTokenVersionIsCurrent() throws Exception {
+        // Arrange
+        when(tokenVersionService.isCurrent(any(VerifiedToken.class))).thenReturn(true);
+
+        // Act
+        filter(bearer());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("alice", authentication.getName());
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+    }
+
+    @Test
+    void doFilter_shouldNotAuthenticate_whenTokenIsRevoked() throws Exception {
+        // Arrange
+        when(tokenVersionService.isCurrent(any(VerifiedToken.class))).thenReturn(false);
+
+        // Act
+        filter(bearer());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_shouldNotAuthenticate_whenTokenIsInvalid() throws Exception {
+        // Act
+        filter("Bearer not-a-jwt");
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(tokenVersionService);
+    }
+}
@@ -0,0 +1,85 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.database.db.entity.UserDb;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "TestSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+
+    private final UserDetails user = User.withUsername("alice").password("x").authorities(List.of()).build();
+    private final UserDb userDb = userDb();
+
+    private static UserDb userDb() {
+        UserDb userDb = new UserDb();
+        userDb.setExtid("user-extid-1");
+        userDb.setUsername("alice");
+        userDb.setRole("ADMIN");
+        userDb.setTokenVersion(3);
+        return userDb;
+    }
+
+    @Test
+    void verify_shouldReturnClaims_andReuseVerification_forSameToken() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        String token = jwtUtil.generateToken(userDb);
+
+        // Act
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        // Assert
+        assertEquals("alice", first.subject());
+        assertTrue(first.expiresAt().isAfter(Instant.now()));
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.cacheStats().getMisses());
+        assertEquals(1, jwtUtil.cacheStats().getHits());
+        assertThrows(UnsupportedOperationException.class, () -> first.claims().put("role", "USER"));
+    }
+
+    @Test
+    void generateToken_shouldEmbedRoleExtidAndTokenVersion() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+        // Act
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(userDb));
+
+        // Assert
+        assertEquals("ADMIN", token.role());
+        assertEquals("user-extid-1", token.userExtid());
+        assertEquals(3, token.tokenVersion());
+    }
+
+    @Test
+    void verify_shouldReject_tokenSignedWithAnotherKey() {
+        // Arrange
+        String foreign = new JwtUtil(SECRET + "-other", 60_000, 100).generateToken(userDb);
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+        assertFalse(jwtUtil.validateToken(foreign, user));
+        assertEquals(0, jwtUtil.cacheStats().getSize());
+    }
+
+    @Test
+    void verify_shouldReject_expiredToken() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, -1_000, 100);
+        String token = jwtUtil.generateToken(userDb);
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+}
@@ -0,0 +1,138 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.common.exceptions.ServiceBusyException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed login and salad traffic against a fixed pool standing in for the
+ * servlet threads, once with BCrypt run inline on those threads and once on
+ * the {@link PasswordHashExecutor}. Logs p50/p99 for both request kinds.
+ * <p>
+ * Timing-dependent, so tagged {@code load} and left out of {@code test}; run
+ * with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class PasswordHashExecutorLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashExecutorLoadTest.class);
+
+    private static final int REQUEST_THREADS = 8;
+    private static final int REQUESTS = 400;
+    private static final int LOGIN_EVERY = 4;
+    private static final long SALAD_WORK_MS = 2;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(10);
+    private final String hash = encoder.encode("secret");
+
+    @Test
+    void saladP99_shouldStayLow_whileLoginsRunOnHashPool() throws Exception {
+        // Arrange
+        PasswordHashExecutor hashExecutor = new PasswordHashExecutor(encoder, 2, 64);
+
+        // Act
+        Result inline = run(login -> CompletableFuture.completedFuture(encoder.matches("secret", hash)));
+        Result isolated = run(login -> hashExecutor.matches("secret", hash));
+        hashExecutor.destroy();
+
+        // Assert
+        log.info("inline:   salad p50={}ms p99={}ms, login p50={}ms p99={}ms",
+                inline.salad(50), inline.salad(99), inline.login(50), inline.login(99));
+        log.info("isolated: salad p50={}ms p99={}ms, login p50={}ms p99={}ms, rejected={}, max queue={}",
+                isolated.salad(50), isolated.salad(99), isolated.login(50), isolated.login(99),
+                isolated.rejected.get(), hashExecutor.stats().getMaxQueued());
+
+        assertTrue(isolated.salad(99) < inline.salad(99),
+                "salad p99 isolated=" + isolated.salad(99) + "ms inline=" + inline.salad(99) + "ms");
+        assertTrue(isolated.salad(99) < 250, "salad p99 was " + isolated.salad(99) + "ms");
+        assertEquals(REQUESTS / LOGIN_EVERY, isolated.loginMs.size() + isolated.rejected.get());
+        assertTrue(hashExecutor.stats().getMaxQueued() <= 64);
+    }
+
+    private Result run(Function<Integer, CompletableFuture<Boolean>> login) throws Exception {
+        Result result = new Result();
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        List<CompletableFuture<?>> pending = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < REQUESTS; i++) {
+            long arrivedAt = System.nanoTime();
+            if (i % LOGIN_EVERY == 0) {
+                int request = i;
+                requestThreads.execute(() -> pending.add(login.apply(request).handle((matched, ex) -> {
+                    if (ex == null) {
+                        assertTrue(matched);
+                        result.loginMs.add(elapsedMs(arrivedAt));
+                    } else {
+                        Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                        assertInstanceOf(ServiceBusyException.class, cause);
+                        result.rejected.incrementAndGet();
+                    }
+                    return null;
+                })));
+            } else {
+                requestThreads.execute(() -> {
+                    sleep(SALAD_WORK_MS);
+                    result.saladMs.add(elapsedMs(arrivedAt));
+                });
+            }
+            sleep(1);
+        }
+
+        requestThreads.shutdown();
+        assertTrue(requestThreads.awaitTermination(60, TimeUnit.SECONDS));
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Result {
+        final List<Long> saladMs = Collections.synchronizedList(new ArrayList<>());
+        final List<Long> loginMs = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger rejected = new AtomicInteger();
+
+        long salad(int percentile) {
+            return percentile(saladMs, percentile);
+        }
+
+        long login(int percentile) {
+            return percentile(loginMs, percentile);
+        }
+
+        private static long percentile(List<Long> samples, int percentile) {
+            List<Long> sorted = new ArrayList<>(samples);
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.common.exceptions.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the pool with an encoder whose verification blocks until released, so
+ * queue depth and rejections are checked deterministically rather than timed.
+ */
+class PasswordHashExecutorTest {
+
+    private static final int THREADS = 1;
+    private static final int QUEUE_CAPACITY = 4;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final PasswordHashExecutor executor =
+            new PasswordHashExecutor(new BlockingEncoder(release), THREADS, QUEUE_CAPACITY);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void matches_shouldQueueUpToCapacity_andRejectTheRest_whilePoolIsBusy() throws Exception {
+        // Arrange
+        int requests = THREADS + QUEUE_CAPACITY + 5;
+
+        // Act: every call returns straight away although no hash has finished
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.matches("secret", "hash:secret"));
+        }
+        PasswordHashStats busy = executor.stats();
+        release.countDown();
+
+        // Assert
+        int matched = 0;
+        int rejected = 0;
+        for (CompletableFuture<Boolean> future : futures) {
+            try {
+                assertTrue(future.get(5, TimeUnit.SECONDS));
+                matched++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ServiceBusyException.class, e.getCause());
+                rejected++;
+            }
+        }
+        assertEquals(THREADS + QUEUE_CAPACITY, matched);
+        assertEquals(requests - THREADS - QUEUE_CAPACITY, rejected);
+        assertEquals(QUEUE_CAPACITY, busy.getQueued());
+        assertEquals(QUEUE_CAPACITY, busy.getMaxQueued());
+        assertEquals(rejected, executor.stats().getRejected());
+    }
+
+    @Test
+    void matches_shouldAcceptWorkAgain_onceQueueHasDrained() throws Exception {
+        // Arrange
+        List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        for (int i = 0; i < THREADS + QUEUE_CAPACITY; i++) {
+            accepted.add(executor.matches("secret", "hash:secret"));
+        }
+        CompletableFuture<Boolean> overflow = executor.matches("secret", "hash:secret");
+        release.countDown();
+        CompletableFuture.allOf(accepted.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Act
+        boolean matched = executor.matches("secret", "hash:secret").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(overflow.isCompletedExceptionally());
+        assertTrue(matched);
+        assertEquals(1, executor.stats().getRejected());
+    }
+
+    @Test
+    void matches_shouldNotMatch_whenHashIsNull() throws Exception {
+        // Arrange
+        release.countDown();
+
+        // Act
+        boolean matched = executor.matches("secret", null).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(matched);
+    }
+
+    @Test
+    void encode_shouldHashOnPoolThread() throws Exception {
+        // Act
+        String encoded = executor.encode("secret").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("hash:secret@password-hash-1", encoded);
+    }
+
+    /** Verification waits for the latch; encoding records the thread it ran on. */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword + "@" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return encodedPassword.startsWith("hash:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.seibel.cpss.security;
+
+import com.seibel.cpss.database.db.entity.UserDb;
+import com.seibel.cpss.database.db.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenVersionService(userRepository, 100, 60);
+    }
+
+    private static VerifiedToken token(Object version) {
+        return new VerifiedToken("alice", Instant.now(), Instant.now().plusSeconds(60),
+                version == null
+                        ? Map.of("uid", "user-1", "role", "USER")
+                        : Map.of("uid", "user-1", "role", "USER", "ver", version));
+    }
+
+    @Test
+    void isCurrent_shouldReadVersionOnce_forRepeatedRequests() {
+        // Arrange
+        when(userRepository.findTokenVersionByExtid("user-1")).thenReturn(Optional.of(2));
+
+        // Act & Assert
+        assertTrue(service.isCurrent(token(2)));
+        assertTrue(service.isCurrent(token(2)));
+        assertFalse(service.isCurrent(token(1)));
+        verify(userRepository, times(1)).findTokenVersionByExtid("user-1");
+    }
+
+    @Test
+    void isCurrent_shouldReject_tokensWithoutVersion_orForMissingUsers() {
+        // Arrange
+        when(userRepository.findTokenVersionByExtid("user-1")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(service.isCurrent(token(null)));
+        assertFalse(service.isCurrent(token(0)));
+        assertEquals(TokenVersionService.NO_USER, service.currentVersion("user-1"));
+    }
+
+    @Test
+    void revokeTokens_shouldBumpVersion_andRejectEarlierTokens() {
+        // Arrange
+        UserDb user = new UserDb();
+        user.setExtid("user-1");
+        user.setTokenVersion(0);
+        when(userRepository.findTokenVersionByExtid("user-1")).thenReturn(Optional.of(0), Optional.of(1));
+        when(userRepository.save(any(UserDb.class))).thenAnswer(inv -> inv.getArgument(0));
+        assertTrue(service.isCurrent(token(0)));
+
+        // Act
+        service.revokeTokens(user);
+
+        // Assert
+        assertEquals(1, user.getTokenVersion());
+        assertNotNull(user.getUpdatedAt());
+        verify(userRepository).save(user);
+        assertFalse(service.isCurrent(token(0)));
+        assertTrue(service.isCurrent(token(1)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.database.db.service.ArchiveDbService;
+import com.seibel.cpss.database.db.service.ArchiveDbService.Target;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_CHUNKS = 3;
+
+    @Mock
+    private ArchiveDbService archiveDbService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void run_shouldArchiveInChunks_untilTargetIsDrained() {
+        // Arrange
+        ArchiveService service = service(true);
+        when(archiveDbService.archiveChunk(eq(Target.SALADS), any(), eq(BATCH_SIZE))).thenReturn(2, 1);
+        when(archiveDbService.archiveChunk(eq(Target.MIXTURES), any(), eq(BATCH_SIZE))).thenReturn(0);
+        when(archiveDbService.archiveChunk(eq(Target.RESET_TOKENS), any(), eq(BATCH_SIZE))).thenReturn(2);
+
+        // Act
+        ArchiveStats stats = service.run();
+
+        // Assert
+        assertEquals(3L, stats.getLastRunArchived().get("salad"));
+        assertEquals(0L, stats.getLastRunArchived().get("mixture"));
+        // Tokens never drain within the run, so it stops at the chunk limit
+        assertEquals(2L * MAX_CHUNKS, stats.getLastRunArchived().get("password_reset_token"));
+        verify(archiveDbService, times(MAX_CHUNKS)).archiveChunk(eq(Target.RESET_TOKENS), any(), eq(BATCH_SIZE));
+        assertEquals(1, stats.getRuns());
+        assertFalse(stats.isRunning());
+        assertNull(stats.getLastError());
+    }
+
+    @Test
+    void run_shouldRecordError_andStayRunnable_whenChunkFails() {
+        // Arrange
+        ArchiveService service = service(true);
+        when(archiveDbService.archiveChunk(eq(Target.SALADS), any(), eq(BATCH_SIZE)))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        // Act
+        ArchiveStats stats = service.run();
+
+        // Assert
+        assertEquals("lock wait timeout", stats.getLastError());
+        assertFalse(stats.isRunning());
+        verify(archiveDbService, never()).archiveChunk(eq(Target.MIXTURES), any(), anyInt());
+    }
+
+    @Test
+    void scheduledRun_shouldDoNothing_whenDisabled() {
+        // Arrange
+        ArchiveService service = service(false);
+
+        // Act
+        service.scheduledRun();
+
+        // Assert
+        verifyNoInteractions(archiveDbService);
+        assertEquals(0, service.stats().getRuns());
+    }
+
+    @Test
+    void startRun_shouldHandPassToScheduler_andRefuseSecondRequestUntilItFinishes() {
+        // Arrange
+        ArchiveService service = service(true);
+        when(archiveDbService.archiveChunk(any(), any(), eq(BATCH_SIZE))).thenReturn(0);
+
+        // Act
+        boolean first = service.startRun();
+        boolean second = service.startRun();
+        ArchiveStats beforePass = service.stats();
+
+        ArgumentCaptor<Runnable> pass = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(pass.capture(), any(Instant.class));
+        pass.getValue().run();
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(beforePass.isRunning());
+        assertEquals(0, beforePass.getRuns());
+        assertFalse(service.stats().isRunning());
+        assertEquals(1, service.stats().getRuns());
+        assertTrue(service.startRun());
+    }
+
+    @Test
+    void startRun_shouldReleaseGuard_whenSchedulerRejects() {
+        // Arrange
+        ArchiveService service = service(true);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class)))
+                .thenThrow(new TaskRejectedException("shutting down"));
+
+        // Act & Assert
+        assertThrows(TaskRejectedException.class, service::startRun);
+        assertFalse(service.stats().isRunning());
+    }
+
+    private ArchiveService service(boolean enabled) {
+        return new ArchiveService(archiveDbService, taskScheduler, enabled, 30, BATCH_SIZE, 0, MAX_CHUNKS);
+    }
+}
@@ -0,0 +1,99 @@
+package com.seibel.cpss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seibel.cpss.database.db.service.CatalogExportDbService;
+import com.seibel.cpss.database.db.service.CatalogExportDbService.Dataset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportServiceTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private CatalogExportDbService catalogExportDbService;
+
+    private CatalogExportService service() {
+        return new CatalogExportService(catalogExportDbService, new ObjectMapper(), PAGE_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubPages() {
+        when(catalogExportDbService.readPage(eq(Dataset.SALAD_INGREDIENT), eq(0L), eq(PAGE_SIZE), any()))
+                .thenAnswer(inv -> {
+                    Consumer<Object[]> rows = inv.getArgument(3);
+                    rows.accept(new Object[]{"Classic Greek Salad", "Romaine Lettuce", 100});
+                    rows.accept(new Object[]{"Classic Greek Salad", "Feta, crumbled", 30});
+                    return 7L;
+                });
+        when(catalogExportDbService.readPage(eq(Dataset.SALAD_INGREDIENT), eq(7L), eq(PAGE_SIZE), any()))
+                .thenAnswer(inv -> {
+                    Consumer<Object[]> rows = inv.getArgument(3);
+                    rows.accept(new Object[]{"Power Bowl", "Quinoa", null});
+                    return null;
+                });
+    }
+
+    @Test
+    void export_shouldWriteCsvInSeedLayout_pageByPage() throws IOException {
+        // Arrange
+        stubPages();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = service().export(Dataset.SALAD_INGREDIENT, CatalogFormat.CSV, out);
+
+        // Assert
+        assertEquals(3, rows);
+        assertEquals("""
+                salad_name,food_name,grams
+                Classic Greek Salad,Romaine Lettuce,100
+                Classic Greek Salad,"Feta, crumbled",30
+                Power Bowl,Quinoa,
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(catalogExportDbService, times(2)).readPage(eq(Dataset.SALAD_INGREDIENT), anyLong(), eq(PAGE_SIZE), any());
+    }
+
+    @Test
+    void export_shouldWriteNdjsonKeyedByColumn() throws IOException {
+        // Arrange
+        stubPages();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        service().export(Dataset.SALAD_INGREDIENT, CatalogFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("{\"salad_name\":\"Classic Greek Salad\",\"food_name\":\"Romaine Lettuce\",\"grams\":100}", lines[0]);
+        assertEquals("{\"salad_name\":\"Power Bowl\",\"food_name\":\"Quinoa\",\"grams\":null}", lines[2]);
+    }
+
+    @Test
+    void export_shouldWriteHeaderOnly_whenDatasetIsEmpty() throws IOException {
+        // Arrange
+        when(catalogExportDbService.readPage(eq(Dataset.MIXTURE), eq(0L), eq(PAGE_SIZE), any())).thenReturn(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = service().export(Dataset.MIXTURE, CatalogFormat.CSV, out);
+
+        // Assert
+        assertEquals(0, rows);
+        assertEquals("name,description\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
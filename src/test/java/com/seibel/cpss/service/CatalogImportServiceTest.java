@@ -0,0 +1,158 @@
+package com.seibel.cpss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService;
+import com.seibel.cpss.database.db.service.CatalogBulkDbService.UpsertResult;
+import com.seibel.cpss.service.CatalogImportService.RowStatus;
+import com.seibel.cpss.service.CatalogImportService.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private CatalogBulkDbService catalogBulkDbService;
+
+    @Mock
+    private NutrientEngine nutrientEngine;
+
+    private CatalogImportService service() {
+        return new CatalogImportService(catalogBulkDbService, nutrientEngine, new ObjectMapper(), BATCH_SIZE);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importRows_shouldUpsertValidCsvRowsInChunks_andRejectInvalidOnes() throws IOException {
+        // Arrange
+        String csv = """
+                name,category,subcategory,description,notes,foundation,mixable,crunch,punch,sweet,savory
+                Asiago,Cheese,Hard,Shaved asiago,Nutty,false,false,3,4,1,4
+                ,Cheese,Soft,No name,,false,false,1,1,1,1
+                Brie,Cheese,Soft,Cubed brie,Creamy,false,false,lots,3,1,4
+                Cheddar,Cheese,Hard,Shredded,Sharp,true,false,2,4,1,4
+                Feta,Cheese,Soft,Crumbled,Salty,false,false,1,4,1,4
+                """;
+        when(catalogBulkDbService.upsertFoods(anyList()))
+                .thenAnswer(inv -> new UpsertResult(((List<?>) inv.getArgument(0)).size(), Map.of()));
+        List<CatalogImportRow> results = new ArrayList<>();
+
+        // Act
+        CatalogImportSummary summary = service().importRows(Type.FOOD, CatalogFormat.CSV, stream(csv), results::add);
+
+        // Assert
+        assertEquals(5, summary.getRows());
+        assertEquals(3, summary.getUpserted());
+        assertEquals(2, summary.getRejected());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(CatalogImportRow::getRow).toList());
+        assertEquals(RowStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(List.of("name is required"), results.get(1).getErrors());
+        assertEquals(List.of("crunch must be a whole number"), results.get(2).getErrors());
+        // Chunks of two rows: {Asiago}, {Cheddar}, {Feta}
+        verify(catalogBulkDbService, times(3)).upsertFoods(anyList());
+        verify(catalogBulkDbService, times(3)).linkFoodNutritionByName(anyCollection());
+        verify(nutrientEngine, times(3)).invalidate();
+    }
+
+    @Test
+    void importRows_shouldMarkChunkFailed_andContinue_whenUpsertFails() throws IOException {
+        // Arrange
+        String ndjson = """
+                {"code":"ASIAGO","name":"Asiago","carbohydrate":4,"fat":26,"protein":28,"sugar":1}
+                {"code":"BRIE","name":"Brie","carbohydrate":0,"fat":28,"protein":21,"sugar":0}
+
+                not json
+                {"code":"FETA","name":"Feta","carbohydrate":4,"fat":21,"protein":14,"sugar":4}
+                """;
+        when(catalogBulkDbService.upsertNutrition(anyList()))
+                .thenThrow(new DatabaseFailureException("deadlock"))
+                .thenReturn(new UpsertResult(1, Map.of()));
+        List<CatalogImportRow> results = new ArrayList<>();
+
+        // Act
+        CatalogImportSummary summary = service().importRows(Type.NUTRITION, CatalogFormat.NDJSON, stream(ndjson), results::add);
+
+        // Assert
+        assertEquals(4, summary.getRows());
+        assertEquals(2, summary.getFailed());
+        assertEquals(1, summary.getRejected());
+        assertEquals(1, summary.getUpserted());
+        assertEquals(RowStatus.FAILED, results.get(0).getStatus());
+        assertEquals(RowStatus.REJECTED, results.get(2).getStatus());
+        assertTrue(results.get(2).getErrors().get(0).startsWith("invalid JSON"));
+        assertEquals(RowStatus.UPSERTED, results.get(3).getStatus());
+        assertEquals("Feta", results.get(3).getName());
+        // The failed chunk is neither linked nor invalidates the nutrient table
+        verify(catalogBulkDbService, times(1)).linkFoodNutritionByName(anyCollection());
+        verify(nutrientEngine, times(1)).invalidate();
+    }
+
+    @Test
+    void importRows_shouldRejectRowMissingRequiredNutrient_andUpsertTheRestOfItsChunk() throws IOException {
+        // Arrange
+        String csv = """
+                code,name,description,notes,carbohydrate,fat,protein,sugar,fiber,vitamin_d,vitamin_e
+                ASIAGO,Asiago,,,4,26,28,1,0,,
+                BRIE,Brie,,,0,28,,0,0,,
+                """;
+        when(catalogBulkDbService.upsertNutrition(anyList()))
+                .thenAnswer(inv -> new UpsertResult(((List<?>) inv.getArgument(0)).size(), Map.of()));
+        List<CatalogImportRow> results = new ArrayList<>();
+
+        // Act
+        CatalogImportSummary summary = service().importRows(Type.NUTRITION, CatalogFormat.CSV, stream(csv), results::add);
+
+        // Assert
+        assertEquals(1, summary.getUpserted());
+        assertEquals(1, summary.getRejected());
+        assertEquals(0, summary.getFailed());
+        assertEquals(RowStatus.UPSERTED, results.get(0).getStatus());
+        assertEquals(RowStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(List.of("protein is required"), results.get(1).getErrors());
+        verify(catalogBulkDbService).upsertNutrition(argThat(items -> items.size() == 1
+                && items.get(0).getName().equals("Asiago")));
+    }
+
+    @Test
+    void importRows_shouldRejectRow_whoseCodeBelongsToAnotherName() throws IOException {
+        // Arrange
+        String ndjson = """
+                {"code":"ASIAGO","name":"Asiago","carbohydrate":4,"fat":26,"protein":28,"sugar":1}
+                {"code":"ASIAGO","name":"Brie","carbohydrate":0,"fat":28,"protein":21,"sugar":0}
+                """;
+        when(catalogBulkDbService.upsertNutrition(anyList()))
+                .thenReturn(new UpsertResult(1, Map.of(1, "code ASIAGO already belongs to Asiago")));
+        List<CatalogImportRow> results = new ArrayList<>();
+
+        // Act
+        CatalogImportSummary summary = service().importRows(Type.NUTRITION, CatalogFormat.NDJSON, stream(ndjson), results::add);
+
+        // Assert
+        assertEquals(1, summary.getUpserted());
+        assertEquals(1, summary.getRejected());
+        assertEquals(RowStatus.UPSERTED, results.get(0).getStatus());
+        assertEquals(RowStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(List.of("code ASIAGO already belongs to Asiago"), results.get(1).getErrors());
+    }
+}
@@ -0,0 +1,176 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.service.EmailOutboxDbService;
+import com.seibel.cpss.database.db.service.EmailOutboxDbService.OutboxEmail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int RETENTION_DAYS = 7;
+
+    @Mock
+    private EmailOutboxDbService outboxDbService;
+
+    private SmtpStandIn smtp;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStandIn();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    private EmailDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return new EmailDispatcher(mailSender, outboxDbService, "noreply@cpss.com", true,
+                BATCH_SIZE, 5, MAX_ATTEMPTS, 30, 3600, 300, RETENTION_DAYS);
+    }
+
+    private void outboxContains(OutboxEmail... emails) {
+        when(outboxDbService.claimBatch(any(LocalDateTime.class), eq(BATCH_SIZE), any(LocalDateTime.class)))
+                .thenReturn(List.of(emails));
+    }
+
+    private static OutboxEmail email(long id, String recipient, int attempts) {
+        return new OutboxEmail(id, recipient, "Password Reset Request", "Reset link " + id, attempts);
+    }
+
+    @Test
+    void dispatch_shouldSendBatchOverOneConnection_andMarkSent() {
+        // Arrange
+        List<OutboxEmail> emails = List.of(
+                email(1, "a@example.com", 0), email(2, "b@example.com", 0), email(3, "c@example.com", 0));
+        outboxContains(emails.toArray(OutboxEmail[]::new));
+
+        // Act
+        int sent = dispatcher(smtp.port()).dispatch();
+
+        // Assert
+        assertEquals(3, sent);
+        assertEquals(1, smtp.connections());
+        assertEquals(3, smtp.received().size());
+        assertEquals(List.of("a@example.com"), smtp.received().get(0).recipients());
+        assertEquals("noreply@cpss.com", smtp.received().get(0).from());
+        assertTrue(smtp.received().get(0).data().contains("Subject: Password Reset Request"));
+        verify(outboxDbService).markSent(eq(emails), any(LocalDateTime.class));
+        verify(outboxDbService, never()).markRetry(anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    void dispatch_shouldRetryWithBackoff_whenServerDefersRecipient() {
+        // Arrange
+        smtp.replyTo("b@example.com", "451 4.3.0 Try again later");
+        OutboxEmail delivered = email(1, "a@example.com", 0);
+        outboxContains(delivered, email(2, "b@example.com", 1));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        int sent = dispatcher(smtp.port()).dispatch();
+
+        // Assert: second attempt, so twice the 30s base delay
+        assertEquals(1, sent);
+        verify(outboxDbService).markSent(eq(List.of(delivered)), any(LocalDateTime.class));
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxDbService).markRetry(eq(2L), eq(2), nextAttempt.capture(), anyString());
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(60)));
+        assertTrue(nextAttempt.getValue().isBefore(LocalDateTime.now().plusSeconds(61)));
+        verify(outboxDbService, never()).markDead(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void dispatch_shouldDeadLetterImmediately_whenRecipientIsRejected() {
+        // Arrange
+        smtp.replyTo("nobody@example.com", "550 5.1.1 No such user");
+        outboxContains(email(1, "nobody@example.com", 0));
+
+        // Act
+        int sent = dispatcher(smtp.port()).dispatch();
+
+        // Assert
+        assertEquals(0, sent);
+        verify(outboxDbService).markDead(eq(1L), eq(1), anyString());
+        verify(outboxDbService, never()).markRetry(anyLong(), anyInt(), any(), any());
+        verify(outboxDbService, never()).markSent(any(), any());
+    }
+
+    @Test
+    void dispatch_shouldRetryWholeBatch_andDeadLetterLastAttempt_whenServerIsDown() throws IOException {
+        // Arrange
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+        outboxContains(email(1, "a@example.com", 0), email(2, "b@example.com", MAX_ATTEMPTS - 1));
+
+        // Act
+        int sent = dispatcher(closedPort).dispatch();
+
+        // Assert
+        assertEquals(0, sent);
+        verify(outboxDbService).markRetry(eq(1L), eq(1), any(LocalDateTime.class), anyString());
+        verify(outboxDbService).markDead(eq(2L), eq(MAX_ATTEMPTS), anyString());
+        verify(outboxDbService, never()).markSent(any(), any());
+    }
+
+    @Test
+    void purge_shouldDeleteInBatches_untilLessThanAFullBatchIsLeft() {
+        // Arrange
+        when(outboxDbService.purgeFinished(any(LocalDateTime.class), eq(1000))).thenReturn(1000, 1000, 250);
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        int deleted = dispatcher(smtp.port()).purge();
+
+        // Assert
+        assertEquals(2250, deleted);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxDbService, times(3)).purgeFinished(cutoff.capture(), eq(1000));
+        assertFalse(cutoff.getValue().isBefore(before.minusDays(RETENTION_DAYS)));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(RETENTION_DAYS).plusSeconds(1)));
+    }
+
+    @Test
+    void purge_shouldStop_whenDeleteFails() {
+        // Arrange
+        when(outboxDbService.purgeFinished(any(LocalDateTime.class), anyInt()))
+                .thenReturn(1000)
+                .thenThrow(new DatabaseFailureException("Failed to purge EmailOutbox"));
+
+        // Act
+        int deleted = dispatcher(smtp.port()).purge();
+
+        // Assert
+        assertEquals(1000, deleted);
+        verify(outboxDbService, times(2)).purgeFinished(any(LocalDateTime.class), anyInt());
+    }
+}
@@ -0,0 +1,99 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.common.exceptions.ServiceBusyException;
+import com.seibel.cpss.database.db.entity.UserDb;
+import com.seibel.cpss.database.db.repository.UserRepository;
+import com.seibel.cpss.security.PasswordHashExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @InjectMocks
+    private LoginService loginService;
+
+    private static UserDb user() {
+        UserDb user = new UserDb();
+        user.setExtid("user-1");
+        user.setUsername("alice");
+        user.setPassword("$2a$10$hash");
+        user.setRole("USER");
+        return user;
+    }
+
+    @Test
+    void login_shouldReturnUser_fromSingleRead_whenPasswordMatches() {
+        // Arrange
+        UserDb user = user();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordHashExecutor.matches("secret", "$2a$10$hash")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        UserDb result = loginService.login("alice", "secret").join();
+
+        // Assert
+        assertSame(user, result);
+        verify(userRepository, times(1)).findByUsername("alice");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void login_shouldFailWithBadCredentials_whenPasswordDoesNotMatch() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user()));
+        when(passwordHashExecutor.matches("wrong", "$2a$10$hash")).thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        CompletionException ex = assertThrows(CompletionException.class, () -> loginService.login("alice", "wrong").join());
+
+        // Assert
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+    }
+
+    @Test
+    void login_shouldStillHash_whenUserDoesNotExist() {
+        // Arrange
+        when(userRepository.findByUsername("mallory")).thenReturn(Optional.empty());
+        when(passwordHashExecutor.matches(eq("secret"), isNull())).thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        CompletionException ex = assertThrows(CompletionException.class, () -> loginService.login("mallory", "secret").join());
+
+        // Assert
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verify(passwordHashExecutor).matches(eq("secret"), isNull());
+    }
+
+    @Test
+    void login_shouldFailWithBusy_whenHashingPoolIsSaturated() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user()));
+        when(passwordHashExecutor.matches("secret", "$2a$10$hash"))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceBusyException("busy")));
+
+        // Act
+        CompletionException ex = assertThrows(CompletionException.class, () -> loginService.login("alice", "secret").join());
+
+        // Assert
+        assertInstanceOf(ServiceBusyException.class, ex.getCause());
+    }
+}
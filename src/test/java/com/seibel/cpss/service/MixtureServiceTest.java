@@ -0,0 +1,116 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Mixture;
+import com.seibel.cpss.common.domain.MixtureIngredient;
+import com.seibel.cpss.common.exceptions.ValidationException;
+import com.seibel.cpss.database.db.exceptions.DatabaseFailureException;
+import com.seibel.cpss.database.db.service.MixtureDbService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MixtureServiceTest {
+
+    @Mock
+    private MixtureDbService dbService;
+
+    @Mock
+    private FoodService foodService;
+
+    @InjectMocks
+    private MixtureService service;
+
+    @Test
+    void create_shouldFetchAllFoodsInOneCall() throws DatabaseFailureException {
+        // Arrange
+        Mixture mixture = createTestMixture();
+        mixture.setIngredients(List.of(
+            createIngredient("food-1", 50),
+            createIngredient("food-2", 30),
+            createIngredient("food-1", 20)
+        ));
+
+        when(foodService.findByExtidIn(List.of("food-1", "food-2"))).thenReturn(List.of(
+            createFood("food-1", true),
+            createFood("food-2", true)
+        ));
+        when(dbService.create(any(Mixture.class))).thenReturn(mixture);
+
+        // Act
+        Mixture result = service.create(mixture);
+
+        // Assert
+        assertNotNull(result);
+        verify(foodService, times(1)).findByExtidIn(anyList());
+        verify(foodService, never()).findByExtid(any());
+    }
+
+    @Test
+    void create_shouldReportEveryInvalidIngredient_whenSeveralAreInvalid() throws DatabaseFailureException {
+        // Arrange
+        Mixture mixture = createTestMixture();
+        mixture.setIngredients(List.of(
+            createIngredient("food-1", 50),     // valid
+            createIngredient("missing", 30),    // not found
+            createIngredient("food-2", 20),     // not mixable
+            createIngredient("food-1", 0)       // bad grams
+        ));
+
+        when(foodService.findByExtidIn(anyList())).thenReturn(List.of(
+            createFood("food-1", true),
+            createFood("food-2", false)
+        ));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class, () -> service.create(mixture));
+        assertTrue(exception.getMessage().contains("Ingredient 2: food not found: missing"));
+        assertTrue(exception.getMessage().contains("Ingredient 3: food is not mixable: Food food-2"));
+        assertTrue(exception.getMessage().contains("Ingredient 4: grams must be greater than 0"));
+        assertFalse(exception.getMessage().contains("Ingredient 1:"));
+        verify(dbService, never()).create(any());
+    }
+
+    @Test
+    void create_shouldThrowException_whenNoIngredients() {
+        // Arrange
+        Mixture mixture = createTestMixture();
+        mixture.setIngredients(List.of());
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> service.create(mixture));
+        verifyNoInteractions(foodService);
+    }
+
+    private Mixture createTestMixture() {
+        return Mixture.builder()
+            .name("Test Mixture")
+            .description("A test mixture")
+            .userExtid("user-123")
+            .build();
+    }
+
+    private MixtureIngredient createIngredient(String foodExtid, int grams) {
+        return MixtureIngredient.builder()
+            .foodExtid(foodExtid)
+            .grams(grams)
+            .build();
+    }
+
+    private Food createFood(String extid, boolean isMixable) {
+        return Food.builder()
+            .extid(extid)
+            .name("Food " + extid)
+            .mixable(isMixable)
+            .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.seibel.cpss.service;
+
+import com.seibel.cpss.common.domain.Food;
+import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.database.db.service.FoodDbService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NutrientEngineTest {
+
+    @Mock
+    private FoodDbService foodDbService;
+
+    @InjectMocks
+    private NutrientEngine engine;
+
+    @Test
+    void newTotals_shouldUseCatalogTable_whenFoodIsIndexed() {
+        // Arrange
+        when(foodDbService.findAll()).thenReturn(List.of(createFood("food-1", 33, 7, 11)));
+        engine.refresh();
+
+        // Act - the ingredient carries no nutrition, so the value must come from the table
+        NutrientTotals totals = engine.newTotals();
+        totals.add("food-1", null, 150);
+
+        // Assert
+        assertEquals(50, totals.get(NutrientEngine.CARBOHYDRATE));   // 49.5 -> 50
+        assertEquals(11, totals.get(NutrientEngine.FAT));            // 10.5 -> 11
+        assertEquals(17, totals.get(NutrientEngine.PROTEIN));        // 16.5 -> 17
+        // Calories from unrounded sums: (4 * 49.5) + (4 * 16.5) + (9 * 10.5) = 358.5 -> 359
+        assertEquals(359, totals.calories());
+    }
+
+    @Test
+    void newTotals_shouldRoundOnceAcrossIngredients() {
+        // Arrange
+        when(foodDbService.findAll()).thenReturn(List.of(
+                createFood("food-1", 5, 0, 0),
+                createFood("food-2", 5, 0, 0)
+        ));
+        engine.refresh();
+
+        // Act - 2.5g + 2.5g used to truncate to 2 + 2
+        NutrientTotals totals = engine.newTotals();
+        totals.add("food-1", null, 50);
+        totals.add("food-2", null, 50);
+
+        // Assert
+        assertEquals(5, totals.get(NutrientEngine.CARBOHYDRATE));
+    }
+
+    @Test
+    void newTotals_shouldFallBackToDomainNutrition_whenFoodIsNotIndexed() {
+        // Arrange
+        when(foodDbService.findAll()).thenReturn(List.of());
+        Food food = createFood("food-9", 40, 10, 20);
+
+        // Act
+        NutrientTotals totals = engine.newTotals();
+        totals.add("food-9", food, 100);
+
+        // Assert
+        assertEquals(40, totals.get(NutrientEngine.CARBOHYDRATE));
+        assertEquals(10, totals.get(NutrientEngine.FAT));
+        assertEquals(20, totals.get(NutrientEngine.PROTEIN));
+    }
+
+    @Test
+    void invalidate_shouldRebuildTableOnNextUse() {
+        // Arrange
+        when(foodDbService.findAll())
+                .thenReturn(List.of(createFood("food-1", 10, 0, 0)))
+                .thenReturn(List.of(createFood("food-1", 20, 0, 0)));
+        engine.refresh();
+
+        // Act
+        engine.invalidate();
+        NutrientTotals totals = engine.newTotals();
+        totals.add("food-1", null, 100);
+
+        // Assert
+        assertEquals(20, totals.get(NutrientEngine.CARBOHYDRATE));
+        verify(foodDbService, times(2)).findAll();
+    }
+
+    private Food createFood(String extid, int carbohydrate, int fat, int protein) {
+        Nutrition nutrition = Nutrition.builder()
+                .carbohydrate(carbohydrate)
+                .fat(fat)
+                .protein(protein)
+                .build();
+        return Food.builder()
+                .extid(extid)
+                .name("Food " + extid)
+                .nutrition(nutrition)
+                .build();
+    }
+}
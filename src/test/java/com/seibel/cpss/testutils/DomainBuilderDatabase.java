@@ -136,5 +136,48 @@ public class DomainBuilderDatabase extends DomainBuilderBase {
         return item;
     }
 
-}
+    // ///////////////////////////////////////////////////////////////////
+    // Salad
+    public static SaladDb getSaladDb(String userExtid) {
+        SaladDb item = new SaladDb();
+        item.setExtid(UUID.randomUUID().toString());
+        item.setName(getNameRandom("Salad_"));
+        item.setDescription(getDescriptionRandom("Salad Description "));
+        item.setUserExtid(userExtid != null ? userExtid : UUID.randomUUID().toString());
+        setBaseSyncFields(item);
+        return item;
+    }
 
+    public static SaladFoodIngredientDb getSaladFoodIngredientDb(SaladDb salad, FoodDb food, Integer grams) {
+        SaladFoodIngredientDb item = new SaladFoodIngredientDb();
+        item.setExtid(UUID.randomUUID().toString());
+        item.setSalad(salad);
+        item.setFood(food);
+        item.setGrams(grams != null ? grams : 100);
+        setBaseSyncFields(item);
+        return item;
+    }
+
+    // ///////////////////////////////////////////////////////////////////
+    // Mixture
+    public static MixtureDb getMixtureDb(String userExtid) {
+        MixtureDb item = new MixtureDb();
+        item.setExtid(UUID.randomUUID().toString());
+        item.setName(getNameRandom("Mixture_"));
+        item.setDescription(getDescriptionRandom("Mixture Description "));
+        item.setUserExtid(userExtid != null ? userExtid : UUID.randomUUID().toString());
+        setBaseSyncFields(item);
+        return item;
+    }
+
+    public static MixtureIngredientDb getMixtureIngredientDb(MixtureDb mixture, FoodDb food, Integer grams) {
+        MixtureIngredientDb item = new MixtureIngredientDb();
+        item.setExtid(UUID.randomUUID().toString());
+        item.setMixture(mixture);
+        item.setFood(food);
+        item.setGrams(grams != null ? grams : 100);
+        setBaseSyncFields(item);
+        return item;
+    }
+
+}
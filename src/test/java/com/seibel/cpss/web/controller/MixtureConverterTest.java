@@ -4,7 +4,9 @@ import com.seibel.cpss.common.domain.Food;
 import com.seibel.cpss.common.domain.Mixture;
 import com.seibel.cpss.common.domain.MixtureIngredient;
 import com.seibel.cpss.common.domain.Nutrition;
+import com.seibel.cpss.database.db.service.FoodDbService;
 import com.seibel.cpss.service.FoodService;
+import com.seibel.cpss.service.NutrientEngine;
 import com.seibel.cpss.web.response.ResponseMixture;
 import com.seibel.cpss.web.response.ResponseNutrition;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,11 +26,14 @@ class MixtureConverterTest {
     @Mock
     private FoodService foodService;
 
+    @Mock
+    private FoodDbService foodDbService;
+
     private MixtureConverter converter;
 
     @BeforeEach
     void setUp() {
-        converter = new MixtureConverter(foodService);
+        converter = new MixtureConverter(foodService, new NutritionConverter(), new NutrientEngine(foodDbService));
     }
 
     @Test
@@ -171,7 +176,8 @@ class MixtureConverterTest {
         assertEquals(20, totalNutrition.getCarbohydrate());
         assertEquals(5, totalNutrition.getFat());
         assertEquals(10, totalNutrition.getProtein());
-        assertEquals(2, totalNutrition.getSugar());
+        // Sugar: 2.5g rounds half-up to 3 instead of truncating to 2
+        assertEquals(3, totalNutrition.getSugar());
         assertEquals(4, totalNutrition.getFiber());
         assertEquals(1, totalNutrition.getVitaminD());
         assertEquals(2, totalNutrition.getVitaminE());